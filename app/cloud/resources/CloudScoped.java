@@ -27,6 +27,11 @@ public interface CloudScoped {
 
     Cloud cloud();
 
+    /**
+     * @return the id of the resource in multi-cloud scope, made of the cloud and the id of
+     * the resource within the cloud, see {@link cloud.SlashEncodedId#cloudId()}. It is not
+     * the id of the cloud.
+     */
     String cloudId();
 
     String swordId();
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A problem that could not be solved within the maximum number of attempts.
+ */
+public class DeadLetter {
+
+    private final long id;
+    private final Problem problem;
+    private final int attempts;
+    @Nullable private final String lastError;
+    private final long failedAt;
+
+    DeadLetter(long id, Problem problem, int attempts, @Nullable String lastError) {
+        checkNotNull(problem, "problem is null.");
+        this.id = id;
+        this.problem = problem;
+        this.attempts = attempts;
+        this.lastError = lastError;
+        this.failedAt = System.currentTimeMillis();
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public Problem problem() {
+        return problem;
+    }
+
+    public int attempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the message of the exception of the last attempt.
+     */
+    @Nullable public String lastError() {
+        return lastError;
+    }
+
+    /**
+     * @return the time in milliseconds at which the last attempt failed.
+     */
+    public long failedAt() {
+        return failedAt;
+    }
+
+    @Override public String toString() {
+        return MoreObjects.toStringHelper(this).add("id", id).add("problem", problem)
+            .add("attempts", attempts).add("lastError", lastError).toString();
+    }
+}
@@ -18,24 +18,51 @@
 
 package cloud.sync;
 
+import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
 
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Created by daniel on 04.05.15.
+ * <p>
+ * Solutions registered for a problem type are resolved by the class of the problem, using
+ * the registration for the most specific supertype. The resolution is memoized for every
+ * concrete problem class. Solutions registered without a type are only asked using
+ * {@link Solution#isSolutionFor(Problem)} if no typed solution exists.
  */
 public class DefaultSolutionDatabase implements SolutionDatabase {
 
+    private final Map<Class<? extends Problem>, Solution> solutionsByType;
+    private final Set<Solution> availableSolutions;
+    private final ConcurrentMap<Class<?>, Optional<Solution>> resolved =
+        new ConcurrentHashMap<>();
 
+    @Inject public DefaultSolutionDatabase(
+        Map<Class<? extends Problem>, Solution> solutionsByType, Set<Solution> solutions) {
 
-    private final Set<Solution> availableSolutions;
+        checkNotNull(solutionsByType, "solutionsByType is null.");
+        checkNotNull(solutions, "solutions is null.");
 
-    @Inject public DefaultSolutionDatabase(Set<Solution> solutions) {
+        this.solutionsByType = solutionsByType;
         this.availableSolutions = solutions;
     }
 
     @Override public Solution getSolution(Problem problem) throws SolutionNotFoundException {
+        checkNotNull(problem, "problem is null.");
+
+        final Optional<Solution> typed =
+            resolved.computeIfAbsent(problem.getClass(), this::resolve);
+        if (typed.isPresent()) {
+            return typed.get();
+        }
+
         for (Solution solution : availableSolutions) {
             if (solution.isSolutionFor(problem))
                 return solution;
@@ -43,5 +70,14 @@ public class DefaultSolutionDatabase implements SolutionDatabase {
         throw new SolutionNotFoundException();
     }
 
-
+    private Optional<Solution> resolve(Class<?> problemType) {
+        //subtypes are visited before their supertypes
+        for (Class<?> type : TypeToken.of(problemType).getTypes().rawTypes()) {
+            final Solution solution = solutionsByType.get(type);
+            if (solution != null) {
+                return Optional.of(solution);
+            }
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The difference between a snapshot of discovered resources and the resources
+ * stored in the database.
+ * <p>
+ * The stored side is indexed once by its key, so computing the diff is linear in the
+ * size of both sides.
+ *
+ * @param <T> the type of the discovered resources.
+ * @param <M> the type of the stored resources.
+ */
+public class Diff<T, M> {
+
+    private final List<T> added;
+    private final List<T> changed;
+    private final List<M> removed;
+    private final int unchanged;
+
+    private Diff(List<T> added, List<T> changed, List<M> removed, int unchanged) {
+        this.added = added;
+        this.changed = changed;
+        this.removed = removed;
+        this.unchanged = unchanged;
+    }
+
+    /**
+     * Computes the diff.
+     *
+     * @param discovered    the discovered resources.
+     * @param discoveredKey function returning the key of a discovered resource.
+     * @param stored        the stored resources.
+     * @param storedKey     function returning the key of a stored resource, may return null
+     *                      for resources without key, which are ignored.
+     * @param isChanged     predicate deciding if a discovered resource differs from the stored
+     *                      resource with the same key.
+     * @param <T>           the type of the discovered resources.
+     * @param <M>           the type of the stored resources.
+     * @return the diff.
+     */
+    public static <T, M> Diff<T, M> of(Iterable<T> discovered, Function<T, String> discoveredKey,
+        Iterable<M> stored, Function<M, String> storedKey, BiPredicate<T, M> isChanged) {
+
+        checkNotNull(discovered, "discovered is null.");
+        checkNotNull(discoveredKey, "discoveredKey is null.");
+        checkNotNull(stored, "stored is null.");
+        checkNotNull(storedKey, "storedKey is null.");
+        checkNotNull(isChanged, "isChanged is null.");
+
+        final Map<String, M> index = new HashMap<>();
+        for (M m : stored) {
+            final String key = storedKey.apply(m);
+            if (key != null) {
+                index.put(key, m);
+            }
+        }
+
+        final ImmutableList.Builder<T> added = ImmutableList.builder();
+        final ImmutableList.Builder<T> changed = ImmutableList.builder();
+        final Set<String> seen = new HashSet<>();
+        int unchanged = 0;
+        for (T t : discovered) {
+            final String key = discoveredKey.apply(t);
+            seen.add(key);
+            final M m = index.get(key);
+            if (m == null) {
+                added.add(t);
+            } else if (isChanged.test(t, m)) {
+                changed.add(t);
+            } else {
+                unchanged++;
+            }
+        }
+
+        final ImmutableList.Builder<M> removed = ImmutableList.builder();
+        for (Map.Entry<String, M> entry : index.entrySet()) {
+            if (!seen.contains(entry.getKey())) {
+                removed.add(entry.getValue());
+            }
+        }
+
+        return new Diff<>(added.build(), changed.build(), removed.build(), unchanged);
+    }
+
+    /**
+     * @return discovered resources without a stored counterpart.
+     */
+    public List<T> added() {
+        return added;
+    }
+
+    /**
+     * @return discovered resources differing from their stored counterpart.
+     */
+    public List<T> changed() {
+        return changed;
+    }
+
+    /**
+     * @return stored resources which were not discovered.
+     */
+    public List<M> removed() {
+        return removed;
+    }
+
+    /**
+     * @return the number of discovered resources matching their stored counterpart.
+     */
+    public int unchanged() {
+        return unchanged;
+    }
+
+    @Override public String toString() {
+        return MoreObjects.toStringHelper(this).add("added", added.size())
+            .add("changed", changed.size()).add("removed", removed.size())
+            .add("unchanged", unchanged).toString();
+    }
+}
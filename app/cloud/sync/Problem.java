@@ -27,4 +27,17 @@ public interface Problem<T> extends Prioritized {
 
     T getResource();
 
+    /**
+     * @return a key identifying the affected resource. Problems with the same key are
+     * solved in the order they were reported, except for a problem that failed: it is
+     * retried after a delay, so problems with the same key reported in between may be
+     * solved before it.
+     */
+    String key();
+
+    /**
+     * @return the time in milliseconds at which the problem was detected.
+     */
+    long detectedAt();
+
 }
@@ -19,10 +19,14 @@
 package cloud.sync;
 
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 
 /**
  * Created by daniel on 04.11.15.
+ * <p>
+ * Detectors are applied to every watched resource. Database state beyond the resource
+ * itself should be read from the {@link SyncContext} of the pass, so that all detectors
+ * share one set of queries.
  */
-public interface ProblemDetector<T> extends Function<T, Optional<Problem<T>>> {
+public interface ProblemDetector<T> extends BiFunction<T, SyncContext, Optional<Problem<T>>> {
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+/**
+ * The queue the watchdogs report the detected problems to.
+ * <p>
+ * Problems are not taken from this queue, each {@link ProblemSolver} takes from its own
+ * partition of the {@link ProblemQueueImpl}.
+ */
+public interface ProblemQueue {
+
+    void add(Problem problem);
+
+    default void addAll(Iterable<? extends Problem> problems) {
+        for (Problem problem : problems) {
+            add(problem);
+        }
+    }
+}
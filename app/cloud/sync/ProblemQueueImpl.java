@@ -18,32 +18,107 @@
 
 package cloud.sync;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import components.execution.PartitionedBlockingQueue;
 import components.execution.SimpleBlockingQueue;
 import components.execution.SimpleFifoPriorityBlockingQueue;
 import components.execution.UniqueBlockingQueue;
+import play.Configuration;
+import play.Logger;
+import util.ConfigurationConstants;
+import util.logging.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Created by daniel on 08.05.15.
+ * <p>
+ * The queue is partitioned by the {@link Problem#key()}, one partition for each problem
+ * solver worker. Problems that failed before are only added again by the
+ * {@link ProblemRetryScheduler}.
  */
 @Singleton
-public class ProblemQueueImpl implements SimpleBlockingQueue<Problem> {
+public class ProblemQueueImpl implements ProblemQueue {
+
+    /**
+     * The number of partitions and problem solver workers if not configured.
+     */
+    public static final int DEFAULT_WORKERS = 2;
 
-    private final SimpleBlockingQueue<Problem<?>> problemsToSolve;
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private final PartitionedBlockingQueue<Problem<?>> problemsToSolve;
+    private final ProblemRetries problemRetries;
 
-    public ProblemQueueImpl() {
+    @Inject
+    public ProblemQueueImpl(Configuration configuration, ProblemRetries problemRetries) {
+        checkNotNull(configuration, "configuration is null.");
+        checkNotNull(problemRetries, "problemRetries is null.");
+
+        this.problemRetries = problemRetries;
         // using <> as expected leads to wrong inferred type and thus a compile error.
-        this.problemsToSolve =
-                new UniqueBlockingQueue<Problem<?>>(new SimpleFifoPriorityBlockingQueue<Problem<?>>());
+        this.problemsToSolve = new PartitionedBlockingQueue<Problem<?>>(
+                configuration.getInt(ConfigurationConstants.SYNC_SOLVER_WORKERS, DEFAULT_WORKERS),
+                () -> new UniqueBlockingQueue<Problem<?>>(
+                        new SimpleFifoPriorityBlockingQueue<Problem<?>>()), Problem::key);
     }
 
+    /**
+     * Adds the problem, unless it is waiting for a retry or is dead, see
+     * {@link ProblemRetries#isSuppressed(Problem)}.
+     */
     @Override
     public void add(Problem t) {
+        if (problemRetries.isSuppressed(t)) {
+            LOGGER.trace(String.format("Ignoring %s as it is waiting for a retry or is dead.", t));
+            return;
+        }
         this.problemsToSolve.add(t);
     }
 
-    @Override
-    public Problem take() throws InterruptedException {
-        return this.problemsToSolve.take();
+    /**
+     * Adds a problem whose retry delay expired.
+     */
+    void retry(Problem t) {
+        this.problemsToSolve.add(t);
+    }
+
+    public int partitions() {
+        return this.problemsToSolve.partitions();
+    }
+
+    public SimpleBlockingQueue<Problem> partition(int partition) {
+        return new Partition(this.problemsToSolve.partition(partition));
+    }
+
+    private static class Partition implements SimpleBlockingQueue<Problem> {
+
+        private final SimpleBlockingQueue<Problem<?>> delegate;
+
+        private Partition(SimpleBlockingQueue<Problem<?>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void add(Problem problem) {
+            this.delegate.add(problem);
+        }
+
+        @Override
+        public Problem take() throws InterruptedException {
+            return this.delegate.take();
+        }
+
+        @Override
+        public int drainTo(Collection<? super Problem> collection, int maxElements) {
+            final List<Problem<?>> drained = new ArrayList<>();
+            this.delegate.drainTo(drained, maxElements);
+            collection.addAll(drained);
+            return drained.size();
+        }
     }
 }
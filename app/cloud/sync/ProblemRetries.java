@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import play.Configuration;
+import play.Logger;
+import util.ConfigurationConstants;
+import util.logging.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Keeps track of the failed attempts to solve a problem.
+ * <p>
+ * A failed problem is retried after an exponentially growing delay, starting at the
+ * configured initial delay and capped at the maximum delay. After the maximum number of
+ * attempts it is moved to a bounded dead letter store, dropping the oldest dead letter
+ * once the store is full. While a problem is waiting for its retry or is dead, it is not
+ * queued again when a watchdog detects it again, see {@link #isSuppressed(Problem)}.
+ */
+@Singleton public class ProblemRetries {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+
+    private final long initialDelay;
+    private final long maxDelay;
+    private final int maxAttempts;
+    private final int deadLetterCapacity;
+
+    private final ConcurrentMap<Problem, Retry> retries = new ConcurrentHashMap<>();
+    private final DelayQueue<Retry> due = new DelayQueue<>();
+    private final Map<Problem, DeadLetter> deadLetters = new LinkedHashMap<>();
+    private final AtomicLong deadLetterIds = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    @Inject public ProblemRetries(Configuration configuration) {
+        checkNotNull(configuration, "configuration is null.");
+
+        this.initialDelay =
+            configuration.getLong(ConfigurationConstants.SYNC_RETRY_INITIAL_DELAY, 5000L);
+        this.maxDelay = configuration.getLong(ConfigurationConstants.SYNC_RETRY_MAX_DELAY, 300000L);
+        this.maxAttempts = configuration.getInt(ConfigurationConstants.SYNC_RETRY_MAX_ATTEMPTS, 8);
+        this.deadLetterCapacity =
+            configuration.getInt(ConfigurationConstants.SYNC_DEAD_LETTER_CAPACITY, 1000);
+
+        checkArgument(initialDelay > 0, "initialDelay needs to be positive.");
+        checkArgument(maxDelay >= initialDelay, "maxDelay needs to be >= initialDelay.");
+        checkArgument(maxAttempts > 0, "maxAttempts needs to be positive.");
+        checkArgument(deadLetterCapacity > 0, "deadLetterCapacity needs to be positive.");
+    }
+
+    /**
+     * Records a failed attempt to solve the problem and either schedules its retry or
+     * moves it to the dead letters.
+     *
+     * @param problem the problem that could not be solved.
+     * @param cause   the cause of the failure.
+     */
+    public void failed(Problem problem, Throwable cause) {
+        checkNotNull(problem, "problem is null.");
+        checkNotNull(cause, "cause is null.");
+
+        final Retry previous = retries.get(problem);
+        final int attempts = previous == null ? 1 : previous.attempts + 1;
+
+        if (attempts >= maxAttempts) {
+            retries.remove(problem);
+            final DeadLetter deadLetter =
+                new DeadLetter(deadLetterIds.incrementAndGet(), problem, attempts,
+                    cause.getMessage());
+            synchronized (deadLetters) {
+                deadLetters.put(problem, deadLetter);
+                final Iterator<DeadLetter> iterator = deadLetters.values().iterator();
+                while (deadLetters.size() > deadLetterCapacity) {
+                    LOGGER.warn(String
+                        .format("Dead letter store is full, dropping %s.", iterator.next()));
+                    iterator.remove();
+                }
+            }
+            deadLettered.incrementAndGet();
+            LOGGER.error(String
+                .format("Giving up problem %s after %s attempts, moved to dead letters.",
+                    problem, attempts));
+            return;
+        }
+
+        final long delay = delay(attempts);
+        final Retry retry = new Retry(problem, attempts, delay);
+        retries.put(problem, retry);
+        due.add(retry);
+        LOGGER.info(String
+            .format("Retrying problem %s in %s ms, attempt %s of %s.", problem, delay,
+                attempts + 1, maxAttempts));
+    }
+
+    /**
+     * Forgets the failed attempts of the problem.
+     *
+     * @param problem the problem that was solved.
+     */
+    public void solved(Problem problem) {
+        checkNotNull(problem, "problem is null.");
+        retries.remove(problem);
+    }
+
+    /**
+     * @param problem the problem.
+     * @return true if the problem is waiting for a retry or is dead.
+     */
+    public boolean isSuppressed(Problem problem) {
+        checkNotNull(problem, "problem is null.");
+        if (retries.containsKey(problem)) {
+            return true;
+        }
+        synchronized (deadLetters) {
+            return deadLetters.containsKey(problem);
+        }
+    }
+
+    /**
+     * Removes all problems whose retry delay expired.
+     *
+     * @param collection the collection to add the problems to.
+     * @return the number of problems added.
+     */
+    int drainDue(Collection<? super Problem> collection) {
+        final List<Retry> expired = new ArrayList<>();
+        due.drainTo(expired);
+        for (Retry retry : expired) {
+            collection.add(retry.problem);
+        }
+        retried.addAndGet(expired.size());
+        return expired.size();
+    }
+
+    public List<DeadLetter> deadLetters() {
+        synchronized (deadLetters) {
+            return ImmutableList.copyOf(deadLetters.values());
+        }
+    }
+
+    /**
+     * Removes the dead letter and schedules its problem for an immediate retry, starting
+     * over with the attempts.
+     *
+     * @param id the id of the dead letter.
+     * @return the replayed dead letter, empty if no dead letter with the id exists.
+     */
+    public Optional<DeadLetter> replay(long id) {
+        final DeadLetter deadLetter;
+        synchronized (deadLetters) {
+            final Optional<DeadLetter> found =
+                deadLetters.values().stream().filter(d -> d.id() == id).findAny();
+            if (!found.isPresent()) {
+                return Optional.empty();
+            }
+            deadLetter = found.get();
+            deadLetters.remove(deadLetter.problem());
+        }
+        replay(deadLetter);
+        return Optional.of(deadLetter);
+    }
+
+    /**
+     * Replays all dead letters, see {@link #replay(long)}.
+     *
+     * @return the replayed dead letters.
+     */
+    public List<DeadLetter> replayAll() {
+        final List<DeadLetter> replayed;
+        synchronized (deadLetters) {
+            replayed = ImmutableList.copyOf(deadLetters.values());
+            deadLetters.clear();
+        }
+        replayed.forEach(this::replay);
+        return replayed;
+    }
+
+    private void replay(DeadLetter deadLetter) {
+        LOGGER.info(String.format("Replaying dead letter %s.", deadLetter));
+        final Retry retry = new Retry(deadLetter.problem(), 0, 0);
+        retries.put(deadLetter.problem(), retry);
+        due.add(retry);
+    }
+
+    /**
+     * @param attempts the number of failed attempts so far, at least one.
+     * @return the delay of the next retry in milliseconds.
+     */
+    long delay(int attempts) {
+        //shift is bounded to avoid overflows, the delay is capped anyway
+        return Math.min(maxDelay, initialDelay << Math.min(attempts - 1, 30));
+    }
+
+    /**
+     * @return the number of problems waiting for their retry.
+     */
+    public int pending() {
+        return retries.size();
+    }
+
+    /**
+     * @return the number of retries so far.
+     */
+    public long retried() {
+        return retried.get();
+    }
+
+    /**
+     * @return the number of problems moved to the dead letters so far.
+     */
+    public long deadLettered() {
+        return deadLettered.get();
+    }
+
+    private static class Retry implements Delayed {
+
+        private final Problem problem;
+        private final int attempts;
+        private final long dueAt;
+
+        private Retry(Problem problem, int attempts, long delay) {
+            this.problem = problem;
+            this.attempts = attempts;
+            this.dueAt = System.currentTimeMillis() + delay;
+        }
+
+        @Override public long getDelay(TimeUnit unit) {
+            return unit
+                .convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS),
+                o.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
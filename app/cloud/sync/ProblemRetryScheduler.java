@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.inject.Inject;
+import components.execution.Schedulable;
+import play.Logger;
+import util.logging.Loggers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Periodically moves the problems whose retry delay expired back to the problem queue.
+ */
+public class ProblemRetryScheduler implements Schedulable {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private final ProblemRetries problemRetries;
+    private final ProblemQueueImpl problemQueue;
+
+    @Inject
+    public ProblemRetryScheduler(ProblemRetries problemRetries, ProblemQueueImpl problemQueue) {
+        checkNotNull(problemRetries, "problemRetries is null.");
+        checkNotNull(problemQueue, "problemQueue is null.");
+        this.problemRetries = problemRetries;
+        this.problemQueue = problemQueue;
+    }
+
+    @Override public void run() {
+        final List<Problem> due = new ArrayList<>();
+        if (problemRetries.drainDue(due) > 0) {
+            LOGGER.debug(String.format("%s is retrying %s problems.", this, due.size()));
+            due.forEach(problemQueue::retry);
+        }
+    }
+
+    @Override public long period() {
+        return 1;
+    }
+
+    @Override public long delay() {
+        return 1;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.SECONDS;
+    }
+
+    @Override public String toString() {
+        return "ProblemRetryScheduler";
+    }
+}
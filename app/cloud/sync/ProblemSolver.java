@@ -19,60 +19,218 @@
 package cloud.sync;
 
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
+import com.google.inject.Provider;
 
 import components.execution.Loop;
 import components.execution.SimpleBlockingQueue;
+import components.job.JobQueue;
+import play.Configuration;
 import play.Logger;
-import play.db.jpa.Transactional;
+import play.db.jpa.JPAApi;
+import play.libs.F;
+import util.ConfigurationConstants;
 import util.logging.Loggers;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Created by daniel on 05.05.15.
+ * <p>
+ * Takes the available problems from the queue partition of its worker in batches, groups
+ * them by their solution and applies every group within a single transaction. Problems with
+ * the same {@link Problem#key()} are solved in queue order. Several
+ * solvers may run in parallel, one for each partition of the {@link ProblemQueueImpl}.
+ * <p>
+ * A {@link SolutionException} only affects the problem it was thrown for. If a group fails
+ * with any other exception, its transaction is rolled back and the problems of the group
+ * are solved again, each in its own transaction. Problems that still fail are handed to
+ * the {@link ProblemRetries}.
  */
 public class ProblemSolver implements Runnable {
 
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private static final int DEFAULT_BATCH_SIZE = 100;
     private final SolutionDatabase solutionDatabase;
     private final SimpleBlockingQueue<Problem> problemQueue;
-    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private final ProblemSolverStatistics.Worker worker;
+    private final ProblemRetries problemRetries;
+    private final SyncEventBus syncEventBus;
+    private final JobQueue jobQueue;
+    private final Provider<JPAApi> jpaApi;
+    private final int batchSize;
 
     @Inject public ProblemSolver(SolutionDatabase solutionDatabase,
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue) {
+        ProblemQueueImpl problemQueue, ProblemSolverStatistics statistics,
+        ProblemRetries problemRetries, SyncEventBus syncEventBus, JobQueue jobQueue,
+        Provider<JPAApi> jpaApi, Configuration configuration) {
+
+        checkNotNull(solutionDatabase, "solutionDatabase is null.");
+        checkNotNull(problemQueue, "problemQueue is null.");
+        checkNotNull(statistics, "statistics is null.");
+        checkNotNull(problemRetries, "problemRetries is null.");
+        checkNotNull(syncEventBus, "syncEventBus is null.");
+        checkNotNull(jobQueue, "jobQueue is null.");
+        checkNotNull(jpaApi, "jpaApi is null.");
+        checkNotNull(configuration, "configuration is null.");
+
         this.solutionDatabase = solutionDatabase;
-        this.problemQueue = problemQueue;
+        this.worker = statistics.register();
+        this.problemRetries = problemRetries;
+        this.syncEventBus = syncEventBus;
+        this.jobQueue = jobQueue;
+        this.problemQueue =
+            problemQueue.partition(worker.index() % problemQueue.partitions());
+        this.jpaApi = jpaApi;
+        this.batchSize = configuration
+            .getInt(ConfigurationConstants.SYNC_SOLVER_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        checkArgument(batchSize > 0, "batchSize needs to be positive.");
     }
 
-    @Transactional @Loop @Override public void run() {
+    @Loop @Override public void run() {
 
-        Problem problemToSolve = null;
+        final List<Problem> problems = new ArrayList<>(batchSize);
         try {
-            problemToSolve = this.problemQueue.take();
-            LOGGER.debug(String.format("%s starting to process problem %s", this, problemToSolve));
+            problems.add(this.problemQueue.take());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            return;
+        }
+        this.problemQueue.drainTo(problems, batchSize - 1);
+        for (Problem problem : problems) {
+            worker.taken(problem);
         }
+        LOGGER.debug(String.format("%s starting to process %s problems", this, problems.size()));
 
-        if (problemToSolve != null) {
+        for (Map.Entry<Solution, List<Problem>> batch : groupBySolution(problems)) {
+            solveBatch(batch.getKey(), batch.getValue());
+        }
+    }
+
+    /**
+     * Groups the problems by their solution, keeping the problems with the same key in queue
+     * order. A problem joins the last group of its solution, unless an earlier problem with
+     * the same key is in a later group. Then it starts a new group of its solution.
+     */
+    private List<Map.Entry<Solution, List<Problem>>> groupBySolution(List<Problem> problems) {
+        final List<Map.Entry<Solution, List<Problem>>> batches = new ArrayList<>();
+        final Map<Solution, Integer> lastBatchOfSolution = new HashMap<>();
+        final Map<String, Integer> lastBatchOfKey = new HashMap<>();
+        for (Problem problem : problems) {
+            final Solution solution;
             try {
-                final Solution solution = this.solutionDatabase.getSolution(problemToSolve);
-                LOGGER.debug(
-                    String.format("Found solution %s for problem %s", solution, problemToSolve));
-                solution.applyTo(problemToSolve);
-                LOGGER.debug(
-                    String.format("Solved problem %s using solution %s", problemToSolve, solution));
+                solution = this.solutionDatabase.getSolution(problem);
             } catch (SolutionNotFoundException e) {
-                throw new IllegalStateException(e);
-            } catch (SolutionException e) {
-                LOGGER.warn("Could not solve problem " + problemToSolve, e);
-            } catch (Exception e) {
+                LOGGER.error(String.format("No solution found for problem %s", problem), e);
+                failed(problem, e);
+                continue;
+            }
+            LOGGER.debug(String.format("Found solution %s for problem %s", solution, problem));
+            final String key = problem.key();
+            Integer batch = lastBatchOfSolution.get(solution);
+            final Integer batchOfKey = lastBatchOfKey.get(key);
+            if (batch == null || (batchOfKey != null && batchOfKey > batch)) {
+                batch = batches.size();
+                batches.add(new AbstractMap.SimpleImmutableEntry<>(solution, new ArrayList<>()));
+                lastBatchOfSolution.put(solution, batch);
+            }
+            batches.get(batch).getValue().add(problem);
+            lastBatchOfKey.put(key, batch);
+        }
+        return batches;
+    }
+
+    private void solveBatch(Solution solution, List<Problem> batch) {
+        try {
+            final List<Optional<SolutionException>> results = inTransaction(() -> {
+                final List<Optional<SolutionException>> failures = new ArrayList<>(batch.size());
+                for (Problem problem : batch) {
+                    failures.add(solve(solution, problem));
+                }
+                return failures;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                count(batch.get(i), results.get(i));
+            }
+            return;
+        } catch (Throwable t) {
+            if (batch.size() == 1) {
                 LOGGER.error(String
-                        .format("Unexpected exception during solving of problem %s", problemToSolve),
-                    e);
+                    .format("Unexpected exception during solving of problem %s", batch.get(0)), t);
+                failed(batch.get(0), t);
+                return;
             }
+            LOGGER.warn(String
+                .format("Solving %s problems using solution %s failed, solving them one by one.",
+                    batch.size(), solution), t);
+        }
+
+        for (Problem problem : batch) {
+            try {
+                count(problem, inTransaction(() -> solve(solution, problem)));
+            } catch (Throwable t) {
+                LOGGER.error(
+                    String.format("Unexpected exception during solving of problem %s", problem), t);
+                failed(problem, t);
+            }
+        }
+    }
+
+    /**
+     * @return the exception if the solution could not be applied, empty if it was solved.
+     */
+    private Optional<SolutionException> solve(Solution solution, Problem problem) {
+        try {
+            solution.applyTo(problem);
+            LOGGER.debug(String.format("Solved problem %s using solution %s", problem, solution));
+            return Optional.empty();
+        } catch (SolutionException e) {
+            LOGGER.warn("Could not solve problem " + problem, e);
+            return Optional.of(e);
+        }
+    }
+
+    private void count(Problem problem, Optional<SolutionException> failure) {
+        if (failure.isPresent()) {
+            failed(problem, failure.get());
+        } else {
+            worker.solved();
+            problemRetries.solved(problem);
+        }
+    }
+
+    private void failed(Problem problem, Throwable cause) {
+        worker.failed();
+        problemRetries.failed(problem, cause);
+    }
+
+    /**
+     * Runs the block in a transaction, delivering the sync events published and submitting
+     * the jobs added by the block only if the transaction commits. Otherwise solving the
+     * problems again would submit their jobs twice.
+     */
+    private <T> T inTransaction(F.Function0<T> block) throws Throwable {
+        syncEventBus.begin();
+        jobQueue.begin();
+        try {
+            final T result = jpaApi.get().withTransaction("default", false, block);
+            syncEventBus.commit();
+            jobQueue.commit();
+            return result;
+        } finally {
+            syncEventBus.rollback();
+            jobQueue.rollback();
         }
     }
 
     @Override public String toString() {
-        return "ProblemSolver";
+        return "ProblemSolver-" + worker.index();
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.inject.Inject;
+import components.execution.Schedulable;
+import play.Logger;
+import util.logging.Loggers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Periodically logs the throughput and the queue lag of every problem solver worker, as
+ * well as the retry and dead letter counts.
+ */
+public class ProblemSolverReporter implements Schedulable {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private static final long PERIOD = 60;
+    private final ProblemSolverStatistics statistics;
+    private final ProblemRetries problemRetries;
+    private final Map<Integer, Long> lastSolved = new HashMap<>();
+
+    @Inject public ProblemSolverReporter(ProblemSolverStatistics statistics,
+        ProblemRetries problemRetries) {
+        checkNotNull(statistics, "statistics is null.");
+        checkNotNull(problemRetries, "problemRetries is null.");
+        this.statistics = statistics;
+        this.problemRetries = problemRetries;
+    }
+
+    @Override public void run() {
+        for (ProblemSolverStatistics.Worker worker : statistics.workers()) {
+            final long solved = worker.solved();
+            final long delta = solved - lastSolved.getOrDefault(worker.index(), 0L);
+            lastSolved.put(worker.index(), solved);
+            LOGGER.info(String.format(
+                "ProblemSolver worker %s solved %s problems (%.2f/s), %s failed in total, maximum queue lag %s ms.",
+                worker.index(), delta, (double) delta / PERIOD, worker.failed(),
+                worker.resetMaxLag()));
+        }
+        LOGGER.info(String.format(
+            "%s problems waiting for a retry, %s retried and %s moved to dead letters in total.",
+            problemRetries.pending(), problemRetries.retried(), problemRetries.deadLettered()));
+    }
+
+    @Override public long period() {
+        return PERIOD;
+    }
+
+    @Override public long delay() {
+        return PERIOD;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.SECONDS;
+    }
+
+    @Override public String toString() {
+        return "ProblemSolverReporter";
+    }
+}
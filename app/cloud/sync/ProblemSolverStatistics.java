@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the statistics of the problem solver workers.
+ * <p>
+ * Also hands out the worker indexes, which determine the queue partition a worker
+ * consumes.
+ */
+@Singleton public class ProblemSolverStatistics {
+
+    private final List<Worker> workers = new ArrayList<>();
+
+    /**
+     * Registers a new worker.
+     *
+     * @return the statistics of the worker, holding its index.
+     */
+    public synchronized Worker register() {
+        final Worker worker = new Worker(workers.size());
+        workers.add(worker);
+        return worker;
+    }
+
+    public synchronized List<Worker> workers() {
+        return ImmutableList.copyOf(workers);
+    }
+
+    public static class Worker {
+
+        private final int index;
+        private final AtomicLong solved = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong lastLag = new AtomicLong();
+        private final AtomicLong maxLag = new AtomicLong();
+
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        /**
+         * @return the number of problems solved so far.
+         */
+        public long solved() {
+            return solved.get();
+        }
+
+        /**
+         * @return the number of problems that could not be solved so far.
+         */
+        public long failed() {
+            return failed.get();
+        }
+
+        /**
+         * @return the time in milliseconds the last taken problem waited in the queue.
+         */
+        public long lastLag() {
+            return lastLag.get();
+        }
+
+        /**
+         * Returns the maximum queue lag since the last call and resets it.
+         *
+         * @return the maximum time in milliseconds a taken problem waited in the queue.
+         */
+        public long resetMaxLag() {
+            return maxLag.getAndSet(0);
+        }
+
+        void taken(Problem problem) {
+            final long lag = Math.max(0, System.currentTimeMillis() - problem.detectedAt());
+            lastLag.set(lag);
+            maxLag.accumulateAndGet(lag, Math::max);
+        }
+
+        void solved() {
+            solved.incrementAndGet();
+        }
+
+        void failed() {
+            failed.incrementAndGet();
+        }
+
+        @Override public String toString() {
+            return MoreObjects.toStringHelper(this).add("index", index).add("solved", solved)
+                .add("failed", failed).add("lastLag", lastLag).toString();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimaps;
+import com.google.inject.Inject;
+import models.Instance;
+import models.VirtualMachine;
+import models.generic.RemoteState;
+import models.service.ModelService;
+import models.service.VirtualMachineModelService;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * State of the database shared by all detectors of a single watchdog pass.
+ * <p>
+ * The indexes are built lazily on first access with one query each and are reused
+ * for the rest of the pass. A new context is created for every pass, so it never
+ * outlives the transaction it was loaded in.
+ */
+public class SyncContext {
+
+    private final VirtualMachineModelService virtualMachineModelService;
+    private final ModelService<Instance> instanceModelService;
+
+    private ImmutableMap<String, VirtualMachine> virtualMachinesByRemoteId;
+    private ImmutableListMultimap<RemoteState, VirtualMachine> virtualMachinesByState;
+    private ImmutableListMultimap<Long, Instance> instancesByVirtualMachine;
+
+    @Inject public SyncContext(VirtualMachineModelService virtualMachineModelService,
+        ModelService<Instance> instanceModelService) {
+
+        checkNotNull(virtualMachineModelService, "virtualMachineModelService is null.");
+        checkNotNull(instanceModelService, "instanceModelService is null.");
+
+        this.virtualMachineModelService = virtualMachineModelService;
+        this.instanceModelService = instanceModelService;
+    }
+
+    public Optional<VirtualMachine> virtualMachineByRemoteId(String remoteId) {
+        checkNotNull(remoteId, "remoteId is null.");
+        if (virtualMachinesByRemoteId == null) {
+            final ImmutableMap.Builder<String, VirtualMachine> builder = ImmutableMap.builder();
+            for (VirtualMachine virtualMachine : virtualMachinesByState().values()) {
+                if (virtualMachine.remoteId().isPresent()) {
+                    builder.put(virtualMachine.remoteId().get(), virtualMachine);
+                }
+            }
+            virtualMachinesByRemoteId = builder.build();
+        }
+        return Optional.ofNullable(virtualMachinesByRemoteId.get(remoteId));
+    }
+
+    public List<VirtualMachine> virtualMachinesInState(RemoteState remoteState) {
+        checkNotNull(remoteState, "remoteState is null.");
+        return virtualMachinesByState().get(remoteState);
+    }
+
+    public List<Instance> instancesOf(VirtualMachine virtualMachine) {
+        checkNotNull(virtualMachine, "virtualMachine is null.");
+        if (instancesByVirtualMachine == null) {
+            final ImmutableListMultimap.Builder<Long, Instance> builder =
+                ImmutableListMultimap.builder();
+            for (Instance instance : instanceModelService.getAll()) {
+                if (instance.getVirtualMachine() != null) {
+                    builder.put(instance.getVirtualMachine().getId(), instance);
+                }
+            }
+            instancesByVirtualMachine = builder.build();
+        }
+        return instancesByVirtualMachine.get(virtualMachine.getId());
+    }
+
+    private ImmutableListMultimap<RemoteState, VirtualMachine> virtualMachinesByState() {
+        if (virtualMachinesByState == null) {
+            virtualMachinesByState = Multimaps
+                .index(virtualMachineModelService.getAll(), VirtualMachine::getRemoteState);
+        }
+        return virtualMachinesByState;
+    }
+}
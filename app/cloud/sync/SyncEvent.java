@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.base.MoreObjects;
+import models.generic.Model;
+import models.generic.RemoteResource;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A change the cloud sync applied to the database.
+ */
+public class SyncEvent {
+
+    public enum Type {
+        IMPORTED,
+        UPDATED,
+        REMOVED,
+        STATE_CHANGED
+    }
+
+    private final long epoch;
+    private final long sequence;
+    private final Type type;
+    private final String resource;
+    @Nullable private final Long id;
+    @Nullable private final String remoteId;
+    private final long timestamp;
+
+    private SyncEvent(long epoch, long sequence, Type type, String resource, @Nullable Long id,
+        @Nullable String remoteId, long timestamp) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.type = type;
+        this.resource = resource;
+        this.id = id;
+        this.remoteId = remoteId;
+        this.timestamp = timestamp;
+    }
+
+    static SyncEvent of(Type type, Model model) {
+        checkNotNull(type, "type is null.");
+        checkNotNull(model, "model is null.");
+        final String remoteId = model instanceof RemoteResource ?
+            ((RemoteResource) model).remoteId().orElse(null) :
+            null;
+        return new SyncEvent(0, 0, type, model.getClass().getSimpleName(), model.getId(),
+            remoteId, System.currentTimeMillis());
+    }
+
+    SyncEvent withSequence(long epoch, long sequence) {
+        return new SyncEvent(epoch, sequence, type, resource, id, remoteId, timestamp);
+    }
+
+    /**
+     * @return the epoch of the bus which numbered the event, see {@link SyncEventBus#epoch()}.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return the sequence number of the event, monotonic within its epoch.
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the id of the event, the epoch and the sequence number joined by a dash.
+     */
+    public String eventId() {
+        return epoch + "-" + sequence;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * @return the simple name of the model class of the changed resource.
+     */
+    public String resource() {
+        return resource;
+    }
+
+    @Nullable public Long id() {
+        return id;
+    }
+
+    @Nullable public String remoteId() {
+        return remoteId;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override public String toString() {
+        return MoreObjects.toStringHelper(this).add("id", eventId()).add("type", type)
+            .add("resource", resource).add("id", id).add("remoteId", remoteId).toString();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import models.generic.Model;
+import play.Configuration;
+import play.Logger;
+import util.ConfigurationConstants;
+import util.logging.Loggers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * In-process bus for the {@link SyncEvent}s of the cloud sync.
+ * <p>
+ * Events get a monotonic sequence number and are kept in a bounded replay buffer, so
+ * subscribers can resume after the last event they received. The sequence restarts with
+ * every start of the application, which is distinguished by the {@link #epoch()}.
+ * <p>
+ * Events published by a thread within {@link #begin()} and {@link #commit()} are only
+ * delivered on commit, so changes of a rolled back transaction are never announced.
+ */
+@Singleton public class SyncEventBus {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+
+    private final long epoch = System.currentTimeMillis();
+    private final int bufferSize;
+    private final Deque<SyncEvent> buffer;
+    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    private final ThreadLocal<List<SyncEvent>> staged = new ThreadLocal<>();
+    private long sequence = 0;
+
+    @Inject public SyncEventBus(Configuration configuration) {
+        checkNotNull(configuration, "configuration is null.");
+        this.bufferSize = configuration.getInt(ConfigurationConstants.SYNC_EVENTS_BUFFER, 1000);
+        checkArgument(bufferSize > 0, "bufferSize needs to be positive.");
+        this.buffer = new ArrayDeque<>(bufferSize);
+    }
+
+    /**
+     * @return the start of the sequence, distinguishing events of different application
+     * starts.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Publishes a change of the model, deferred until {@link #commit()} if the current thread
+     * called {@link #begin()}.
+     *
+     * @param type  the type of the change.
+     * @param model the changed model.
+     */
+    public void publish(SyncEvent.Type type, Model model) {
+        final SyncEvent event = SyncEvent.of(type, model);
+        final List<SyncEvent> events = staged.get();
+        if (events != null) {
+            events.add(event);
+        } else {
+            deliver(event);
+        }
+    }
+
+    /**
+     * Starts staging the events published by the current thread.
+     */
+    public void begin() {
+        staged.set(new ArrayList<>());
+    }
+
+    /**
+     * Delivers the events staged since {@link #begin()}.
+     */
+    public void commit() {
+        final List<SyncEvent> events = staged.get();
+        staged.remove();
+        if (events != null) {
+            events.forEach(this::deliver);
+        }
+    }
+
+    /**
+     * Drops the events staged since {@link #begin()}.
+     */
+    public void rollback() {
+        staged.remove();
+    }
+
+    private synchronized void deliver(SyncEvent event) {
+        final SyncEvent sequenced = event.withSequence(epoch, ++sequence);
+        if (buffer.size() == bufferSize) {
+            buffer.removeFirst();
+        }
+        buffer.addLast(sequenced);
+        LOGGER.debug(String.format("Publishing %s.", sequenced));
+        for (Listener listener : listeners) {
+            try {
+                listener.accept(sequenced);
+            } catch (RuntimeException e) {
+                LOGGER.warn(String.format("Listener %s failed on %s.", listener, sequenced), e);
+            }
+        }
+    }
+
+    /**
+     * Registers the listener for all future events, after replaying the buffered events
+     * following the given sequence number. If some of these events were already dropped
+     * from the buffer or were numbered in another epoch, the listener is notified by
+     * {@link Listener#onMissedEvents()} and should rescan instead.
+     *
+     * @param epoch    the epoch of the last event the listener received.
+     * @param since    the sequence number of the last event the listener received, a
+     *                 negative value to only receive future events.
+     * @param listener the listener.
+     * @return the subscription.
+     */
+    public synchronized Subscription subscribe(long epoch, long since, Listener listener) {
+        checkNotNull(listener, "listener is null.");
+        if (since >= 0) {
+            if (epoch != this.epoch || since > sequence) {
+                listener.onMissedEvents();
+            } else if (since < sequence) {
+                if (buffer.isEmpty() || buffer.getFirst().sequence() > since + 1) {
+                    listener.onMissedEvents();
+                } else {
+                    for (SyncEvent event : buffer) {
+                        if (event.sequence() > since) {
+                            listener.accept(event);
+                        }
+                    }
+                }
+            }
+        }
+        listeners.add(listener);
+        return new Subscription(listener);
+    }
+
+    public interface Listener extends Consumer<SyncEvent> {
+
+        /**
+         * Called instead of the replay if events were already dropped from the buffer.
+         */
+        void onMissedEvents();
+    }
+
+    public class Subscription {
+
+        private final Listener listener;
+
+        private Subscription(Listener listener) {
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            listeners.remove(listener);
+        }
+    }
+}
@@ -24,14 +24,17 @@ import cloud.resources.LocationInCloud;
 import cloud.resources.VirtualMachineInLocation;
 import cloud.sync.*;
 import cloud.sync.detectors.*;
+import cloud.sync.problems.*;
+import cloud.sync.reconcilers.*;
 import cloud.sync.solutions.*;
 import cloud.sync.watchdogs.*;
 import com.google.inject.AbstractModule;
+import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 import components.execution.Schedulable;
-import components.execution.SimpleBlockingQueue;
 import models.Instance;
 import models.VirtualMachine;
 import play.Configuration;
@@ -59,8 +62,7 @@ public class SolutionModule extends AbstractModule {
     protected void configure() {
         this.bindSolutions();
 
-        bind(new TypeLiteral<SimpleBlockingQueue<Problem>>() {
-        }).annotatedWith(Names.named("problemQueue")).to(ProblemQueueImpl.class);
+        bind(ProblemQueue.class).to(ProblemQueueImpl.class);
 
         Multibinder<Schedulable> schedulableMultibinder =
                 Multibinder.newSetBinder(binder(), Schedulable.class);
@@ -70,21 +72,20 @@ public class SolutionModule extends AbstractModule {
         schedulableMultibinder.addBinding().to(VirtualMachineInLocationWatchdog.class);
         schedulableMultibinder.addBinding().to(VirtualMachineWatchdog.class);
         schedulableMultibinder.addBinding().to(InstanceWatchdog.class);
+        schedulableMultibinder.addBinding().to(ProblemSolverReporter.class);
+        schedulableMultibinder.addBinding().to(ProblemRetryScheduler.class);
 
-        Multibinder<ProblemDetector<HardwareInLocation>> hardwareProblemDetectorBinder = Multibinder
-                .newSetBinder(binder(), new TypeLiteral<ProblemDetector<HardwareInLocation>>() {
-                });
-        hardwareProblemDetectorBinder.addBinding().to(HardwareNotInDatabaseDetector.class);
+        this.bindReconcilers();
 
-        Multibinder<ProblemDetector<ImageInLocation>> imageProblemDetectorBinder =
-                Multibinder.newSetBinder(binder(), new TypeLiteral<ProblemDetector<ImageInLocation>>() {
-                });
-        imageProblemDetectorBinder.addBinding().to(ImageNotInDatabaseDetector.class);
+        //missing hardware, images and locations are found by the reconcilers
+        Multibinder.newSetBinder(binder(), new TypeLiteral<ProblemDetector<HardwareInLocation>>() {
+        });
 
-        Multibinder<ProblemDetector<LocationInCloud>> locationProblemDetectorBinder =
-                Multibinder.newSetBinder(binder(), new TypeLiteral<ProblemDetector<LocationInCloud>>() {
-                });
-        locationProblemDetectorBinder.addBinding().to(LocationNotInDatabaseDetector.class);
+        Multibinder.newSetBinder(binder(), new TypeLiteral<ProblemDetector<ImageInLocation>>() {
+        });
+
+        Multibinder.newSetBinder(binder(), new TypeLiteral<ProblemDetector<LocationInCloud>>() {
+        });
 
         Multibinder<ProblemDetector<VirtualMachineInLocation>>
                 virtualMachineInLocationProblemDetectorBinder = Multibinder
@@ -120,19 +121,49 @@ public class SolutionModule extends AbstractModule {
 
         Multibinder<Runnable> runnableMultibinder =
                 Multibinder.newSetBinder(binder(), Runnable.class);
-        runnableMultibinder.addBinding().to(ProblemSolver.class);
+        //one binding per worker, as the multibinder would merge equal bindings
+        final int workers =
+                configuration.getInt(ConfigurationConstants.SYNC_SOLVER_WORKERS,
+                        ProblemQueueImpl.DEFAULT_WORKERS);
+        for (int i = 0; i < workers; i++) {
+            final Key<ProblemSolver> problemSolverKey =
+                    Key.get(ProblemSolver.class, Names.named("problemSolver" + i));
+            bind(problemSolverKey).to(ProblemSolver.class);
+            runnableMultibinder.addBinding().to(problemSolverKey);
+        }
+
+    }
 
+    private void bindReconcilers() {
+        Multibinder.newSetBinder(binder(), new TypeLiteral<Reconciler<HardwareInLocation>>() {
+        }).addBinding().to(HardwareReconciler.class);
+        Multibinder.newSetBinder(binder(), new TypeLiteral<Reconciler<ImageInLocation>>() {
+        }).addBinding().to(ImageReconciler.class);
+        Multibinder.newSetBinder(binder(), new TypeLiteral<Reconciler<LocationInCloud>>() {
+        }).addBinding().to(LocationReconciler.class);
     }
 
     private void bindSolutions() {
-        Multibinder<Solution> solutionBinder = Multibinder.newSetBinder(binder(), Solution.class);
-        solutionBinder.addBinding().to(ImportLocationInDatabase.class);
-        solutionBinder.addBinding().to(ImportHardwareToDatabase.class);
-        solutionBinder.addBinding().to(ImportImageToDatabase.class);
-        solutionBinder.addBinding().to(DeleteSpareVirtualMachine.class);
-        solutionBinder.addBinding().to(RetryVirtualMachine.class);
-        solutionBinder.addBinding().to(RetryInstance.class);
-        solutionBinder.addBinding().to(RemoveEmptyVirtualMachine.class);
+        MapBinder<Class<? extends Problem>, Solution> solutionBinder = MapBinder
+                .newMapBinder(binder(), new TypeLiteral<Class<? extends Problem>>() {
+                }, TypeLiteral.get(Solution.class));
+        solutionBinder.addBinding(LocationProblems.LocationNotInDatabase.class)
+                .to(ImportLocationInDatabase.class);
+        solutionBinder.addBinding(HardwareProblems.HardwareNotInDatabase.class)
+                .to(ImportHardwareToDatabase.class);
+        solutionBinder.addBinding(ImageProblems.ImageNotInDatabase.class)
+                .to(ImportImageToDatabase.class);
+        solutionBinder.addBinding(VirtualMachineProblems.VirtualMachineNotInDatabase.class)
+                .to(DeleteSpareVirtualMachine.class);
+        solutionBinder.addBinding(VirtualMachineProblems.VirtualMachineInErrorState.class)
+                .to(RetryVirtualMachine.class);
+        solutionBinder.addBinding(InstanceProblems.InstanceInErrorState.class)
+                .to(RetryInstance.class);
+        solutionBinder.addBinding(VirtualMachineProblems.VirtualMachineIsSpare.class)
+                .to(RemoveEmptyVirtualMachine.class);
+
+        //solutions which can not be registered for a problem type
+        Multibinder.newSetBinder(binder(), Solution.class);
     }
 
 
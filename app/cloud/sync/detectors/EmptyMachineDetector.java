@@ -2,6 +2,7 @@ package cloud.sync.detectors;
 
 import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.SyncContext;
 import cloud.sync.problems.VirtualMachineProblems;
 import models.VirtualMachine;
 import models.generic.RemoteState;
@@ -18,12 +19,14 @@ public class EmptyMachineDetector implements ProblemDetector<VirtualMachine> {
     private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
 
     @Override
-    public Optional<Problem<VirtualMachine>> apply(VirtualMachine virtualMachine) {
+    public Optional<Problem<VirtualMachine>> apply(VirtualMachine virtualMachine,
+        SyncContext context) {
         if (!RemoteState.OK.equals(virtualMachine.getRemoteState())) {
             LOGGER.debug(String.format("Skipping %s on virtual machine %s as it is not in %s state", this, virtualMachine, RemoteState.OK));
+            return Optional.empty();
         }
 
-        if (virtualMachine.instances().isEmpty()) {
+        if (context.instancesOf(virtualMachine).isEmpty()) {
             return Optional.of(new VirtualMachineProblems.VirtualMachineIsSpare(virtualMachine));
         }
 
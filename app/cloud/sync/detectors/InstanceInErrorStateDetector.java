@@ -20,6 +20,7 @@ package cloud.sync.detectors;
 
 import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.SyncContext;
 import cloud.sync.problems.InstanceProblems;
 import models.Instance;
 import models.generic.RemoteState;
@@ -31,7 +32,7 @@ import java.util.Optional;
  */
 public class InstanceInErrorStateDetector implements ProblemDetector<Instance> {
 
-    @Override public Optional<Problem<Instance>> apply(Instance instance) {
+    @Override public Optional<Problem<Instance>> apply(Instance instance, SyncContext context) {
 
         if (RemoteState.ERROR.equals(instance.getRemoteState())) {
             return Optional.of(new InstanceProblems.InstanceInErrorState(instance));
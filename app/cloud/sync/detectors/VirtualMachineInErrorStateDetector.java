@@ -2,6 +2,7 @@ package cloud.sync.detectors;
 
 import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.SyncContext;
 import cloud.sync.problems.VirtualMachineProblems;
 import models.VirtualMachine;
 import models.generic.RemoteState;
@@ -13,7 +14,8 @@ import java.util.Optional;
  */
 public class VirtualMachineInErrorStateDetector implements ProblemDetector<VirtualMachine> {
 
-    @Override public Optional<Problem<VirtualMachine>> apply(VirtualMachine virtualMachine) {
+    @Override public Optional<Problem<VirtualMachine>> apply(VirtualMachine virtualMachine,
+        SyncContext context) {
 
         if (RemoteState.ERROR.equals(virtualMachine.getRemoteState())) {
             return Optional
@@ -21,48 +21,36 @@ package cloud.sync.detectors;
 import cloud.resources.VirtualMachineInLocation;
 import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.SyncContext;
 import cloud.sync.problems.VirtualMachineProblems;
-import com.google.inject.Inject;
 import models.generic.RemoteState;
-import models.service.VirtualMachineModelService;
 import play.Logger;
 import util.logging.Loggers;
 
 import java.util.Optional;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-
 /**
  * Created by daniel on 11.11.16.
  */
 public class VirtualMachineNotInDatabaseDetector
         implements ProblemDetector<VirtualMachineInLocation> {
 
-    private final VirtualMachineModelService virtualMachineModelService;
     private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
 
-    @Inject
-    public VirtualMachineNotInDatabaseDetector(
-            VirtualMachineModelService virtualMachineModelService) {
-        checkNotNull(virtualMachineModelService, "virtualMachineModelService is null.");
-        this.virtualMachineModelService = virtualMachineModelService;
-    }
-
     @Override
-    public Optional<Problem<VirtualMachineInLocation>> apply(VirtualMachineInLocation virtualMachineInLocation) {
+    public Optional<Problem<VirtualMachineInLocation>> apply(
+            VirtualMachineInLocation virtualMachineInLocation, SyncContext context) {
 
         //do not run this detector if a virtual machine is in progress as this cause problems
         //with directly reporting newly created virtual machines as problem
-        if (virtualMachineModelService.getAll().stream().filter(
-                virtualMachine -> RemoteState.INPROGRESS.equals(virtualMachine.getRemoteState()))
-                .findAny().isPresent()) {
+        if (!context.virtualMachinesInState(RemoteState.INPROGRESS).isEmpty()) {
             LOGGER.debug(String
                     .format("Skipping execution of %s, as a virtual machine is currently in progress.",
                             this));
             return Optional.empty();
         }
 
-        if (virtualMachineModelService.getByRemoteId(virtualMachineInLocation.id()) == null) {
+        if (!context.virtualMachineByRemoteId(virtualMachineInLocation.id()).isPresent()) {
             return Optional.of(new VirtualMachineProblems.VirtualMachineNotInDatabase(
                     virtualMachineInLocation));
         }
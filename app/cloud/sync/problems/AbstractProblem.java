@@ -1,7 +1,10 @@
 package cloud.sync.problems;
 
+import cloud.resources.CloudScoped;
 import cloud.sync.Problem;
 import com.google.common.base.MoreObjects;
+import models.generic.RemoteResource;
+import models.generic.Unique;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -11,10 +14,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public abstract class AbstractProblem<T> implements Problem<T> {
 
     private final T resource;
+    private final long detectedAt;
+    private volatile String key;
 
     public AbstractProblem(T resource) {
         checkNotNull(resource, "resource is null.");
         this.resource = resource;
+        this.detectedAt = System.currentTimeMillis();
     }
 
     @Override
@@ -22,6 +28,45 @@ public abstract class AbstractProblem<T> implements Problem<T> {
         return resource;
     }
 
+    /**
+     * Keys the problem by the remote id of its resource. For a resource discovered in a cloud
+     * this is {@link CloudScoped#cloudId()}, the id of the resource in multi-cloud scope,
+     * which is also the remote id its entity is imported with. Distinct resources are
+     * therefore spread over the partitions, while the problems of one resource seen through
+     * several credentials share a partition.
+     * <p>
+     * The key is computed once, when the problem is added to the queue within the
+     * transaction of its watchdog, as it may require loading the cloud of the resource.
+     */
+    @Override
+    public String key() {
+        String key = this.key;
+        if (key == null) {
+            key = computeKey();
+            this.key = key;
+        }
+        return key;
+    }
+
+    private String computeKey() {
+        if (resource instanceof CloudScoped) {
+            return ((CloudScoped) resource).cloudId();
+        }
+        if (resource instanceof RemoteResource && ((RemoteResource) resource).remoteId()
+                .isPresent()) {
+            return ((RemoteResource) resource).remoteId().get();
+        }
+        if (resource instanceof Unique) {
+            return ((Unique) resource).getUuid();
+        }
+        return String.valueOf(resource.hashCode());
+    }
+
+    @Override
+    public long detectedAt() {
+        return detectedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync.reconcilers;
+
+import cloud.resources.CredentialScoped;
+import cloud.sync.Diff;
+import cloud.sync.Problem;
+import cloud.sync.Reconciler;
+import com.google.common.collect.ImmutableList;
+import models.generic.RemoteResourceInCloud;
+import models.service.RemoteModelService;
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reconciles discovered resources against their database counterparts, which are
+ * loaded once per pass and matched by remote id.
+ * <p>
+ * A discovered resource is reported as not in database, if no entity with its remote id
+ * exists, or if the entity is not yet associated with the credential the resource was
+ * discovered with.
+ * <p>
+ * Entities which were not discovered are only logged, as a failing discovery for a
+ * single cloud would otherwise remove its complete catalog.
+ */
+public abstract class AbstractRemoteResourceReconciler<T extends CredentialScoped, M extends RemoteResourceInCloud>
+    implements Reconciler<T> {
+
+    private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private final RemoteModelService<M> modelService;
+
+    protected AbstractRemoteResourceReconciler(RemoteModelService<M> modelService) {
+        checkNotNull(modelService, "modelService is null.");
+        this.modelService = modelService;
+    }
+
+    @Override public Iterable<Problem<T>> reconcile(Iterable<T> snapshot) {
+        checkNotNull(snapshot, "snapshot is null.");
+
+        final Diff<T, M> diff = Diff.of(snapshot, CredentialScoped::cloudId,
+            modelService.getAllWithCredentials(), m -> m.remoteId().orElse(null),
+            (t, m) -> !m.cloudCredentials().contains(t.credential()));
+
+        LOGGER.debug(String.format("%s computed %s.", this, diff));
+        if (!diff.removed().isEmpty()) {
+            LOGGER.trace(String.format("%s found %s entities not discovered anymore: %s", this,
+                diff.removed().size(), diff.removed()));
+        }
+
+        final ImmutableList.Builder<Problem<T>> problems = ImmutableList.builder();
+        for (T t : diff.added()) {
+            problems.add(notInDatabase(t));
+        }
+        for (T t : diff.changed()) {
+            problems.add(notInDatabase(t));
+        }
+        return problems.build();
+    }
+
+    /**
+     * @param t the discovered resource.
+     * @return the problem reporting a resource missing (for its credential) in the database.
+     */
+    protected abstract Problem<T> notInDatabase(T t);
+}
@@ -16,37 +16,29 @@
  * under the License.
  */
 
-package cloud.sync.detectors;
+package cloud.sync.reconcilers;
 
 import cloud.resources.ImageInLocation;
 import cloud.sync.Problem;
-import cloud.sync.ProblemDetector;
 import cloud.sync.problems.ImageProblems;
 import com.google.inject.Inject;
 import models.Image;
 import models.service.ImageModelService;
 
-import java.util.Optional;
-
 /**
- * Created by daniel on 04.11.15.
+ * Reconciles the discovered images against the database.
  */
-public class ImageNotInDatabaseDetector implements ProblemDetector<ImageInLocation> {
-
-    private final ImageModelService imageModelService;
+public class ImageReconciler extends AbstractRemoteResourceReconciler<ImageInLocation, Image> {
 
-    @Inject
-    public ImageNotInDatabaseDetector(ImageModelService imageModelService) {
-        this.imageModelService = imageModelService;
+    @Inject public ImageReconciler(ImageModelService imageModelService) {
+        super(imageModelService);
     }
 
-    @Override
-    public Optional<Problem<ImageInLocation>> apply(ImageInLocation imageInLocation) {
+    @Override protected Problem<ImageInLocation> notInDatabase(ImageInLocation image) {
+        return new ImageProblems.ImageNotInDatabase(image);
+    }
 
-        Image image = imageModelService.getByRemoteId(imageInLocation.cloudId());
-        if (image == null || !image.cloudCredentials().contains(imageInLocation.credential())) {
-            return Optional.of(new ImageProblems.ImageNotInDatabase(imageInLocation));
-        }
-        return Optional.empty();
+    @Override public String toString() {
+        return "ImageReconciler";
     }
 }
@@ -16,37 +16,29 @@
  * under the License.
  */
 
-package cloud.sync.detectors;
+package cloud.sync.reconcilers;
 
 import cloud.resources.LocationInCloud;
 import cloud.sync.Problem;
-import cloud.sync.ProblemDetector;
 import cloud.sync.problems.LocationProblems;
 import com.google.inject.Inject;
 import models.Location;
 import models.service.LocationModelService;
 
-import java.util.Optional;
-
 /**
- * Created by daniel on 04.11.15.
+ * Reconciles the discovered locations against the database.
  */
-public class LocationNotInDatabaseDetector implements ProblemDetector<LocationInCloud> {
+public class LocationReconciler extends AbstractRemoteResourceReconciler<LocationInCloud, Location> {
 
-    private final LocationModelService locationModelService;
+    @Inject public LocationReconciler(LocationModelService locationModelService) {
+        super(locationModelService);
+    }
 
-    @Inject
-    public LocationNotInDatabaseDetector(LocationModelService locationModelService) {
-        this.locationModelService = locationModelService;
+    @Override protected Problem<LocationInCloud> notInDatabase(LocationInCloud location) {
+        return new LocationProblems.LocationNotInDatabase(location);
     }
 
-    @Override
-    public Optional<Problem<LocationInCloud>> apply(LocationInCloud locationInCloud) {
-        Location location = locationModelService.getByRemoteId(locationInCloud.cloudId());
-        if (location == null || !location.cloudCredentials()
-                .contains(locationInCloud.credential())) {
-            return Optional.of(new LocationProblems.LocationNotInDatabase(locationInCloud));
-        }
-        return Optional.empty();
+    @Override public String toString() {
+        return "LocationReconciler";
     }
 }
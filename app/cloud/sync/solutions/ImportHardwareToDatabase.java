@@ -22,17 +22,16 @@ import cloud.SlashEncodedId;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
 import cloud.sync.problems.HardwareProblems;
 import com.google.inject.Inject;
 import models.Cloud;
 import models.Hardware;
-import models.HardwareOffer;
 import models.Location;
 import models.service.HardwareModelService;
+import models.service.HardwareOfferModelService;
 import models.service.LocationModelService;
-import models.service.ModelService;
-
-import javax.annotation.Nullable;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -42,16 +41,19 @@ import static com.google.common.base.Preconditions.checkArgument;
 public class ImportHardwareToDatabase implements Solution {
 
     private final HardwareModelService hardwareModelService;
-    private final ModelService<HardwareOffer> hardwareOfferModelService;
+    private final HardwareOfferModelService hardwareOfferModelService;
     private final LocationModelService locationModelService;
+    private final SyncEventBus syncEventBus;
 
     @Inject
     public ImportHardwareToDatabase(HardwareModelService hardwareModelService,
-                                    ModelService<HardwareOffer> hardwareOfferModelService,
-                                    LocationModelService locationModelService) {
+                                    HardwareOfferModelService hardwareOfferModelService,
+                                    LocationModelService locationModelService,
+                                    SyncEventBus syncEventBus) {
         this.hardwareModelService = hardwareModelService;
         this.hardwareOfferModelService = hardwareOfferModelService;
         this.locationModelService = locationModelService;
+        this.syncEventBus = syncEventBus;
     }
 
     @Override
@@ -71,6 +73,7 @@ public class ImportHardwareToDatabase implements Solution {
         if (existingHardware != null) {
             existingHardware
                     .addCloudCredential(hardwareNotInDatabase.getResource().credential());
+            syncEventBus.publish(SyncEvent.Type.UPDATED, existingHardware);
             return;
         }
 
@@ -89,32 +92,13 @@ public class ImportHardwareToDatabase implements Solution {
                 hardwareNotInDatabase.getResource().providerId(),
                 hardwareNotInDatabase.getResource().swordId(), cloud, location,
                 hardwareNotInDatabase.getResource().name(),
-                getHardwareOffer(hardwareNotInDatabase.getResource().numberOfCores(),
-                        hardwareNotInDatabase.getResource().mbRam(),
-                        hardwareNotInDatabase.getResource().gbDisk()));
-
-        hardwareModelService.save(hardware);
-
-    }
-
-    private HardwareOffer getHardwareOffer(Integer numberOfCores, Long mbOfRam,
-                                           @Nullable Float localDiskSpace) {
-
-        for (HardwareOffer hardwareOffer : hardwareOfferModelService.getAll()) {
-            if (hardwareOffer.getNumberOfCores().equals(numberOfCores)) {
-                if (hardwareOffer.getMbOfRam().equals(mbOfRam)) {
-                    //todo: check if this disk space comparison is ok, or if we need to consider disk space
-                    if (localDiskSpace == null || localDiskSpace
-                            .equals(hardwareOffer.getLocalDiskSpace())) {
-                        return hardwareOffer;
-                    }
-                }
-            }
-        }
+                hardwareOfferModelService
+                        .findOrCreate(hardwareNotInDatabase.getResource().numberOfCores(),
+                                hardwareNotInDatabase.getResource().mbRam(),
+                                hardwareNotInDatabase.getResource().gbDisk()));
 
-        HardwareOffer hardwareOffer = new HardwareOffer(numberOfCores, mbOfRam, localDiskSpace);
-        this.hardwareOfferModelService.save(hardwareOffer);
+        hardwareModelService.saveDeferred(hardware);
+        syncEventBus.publish(SyncEvent.Type.IMPORTED, hardware);
 
-        return hardwareOffer;
     }
 }
@@ -22,6 +22,8 @@ import cloud.SlashEncodedId;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
 import cloud.sync.problems.ImageProblems;
 import com.google.inject.Inject;
 import models.Cloud;
@@ -42,13 +44,16 @@ public class ImportImageToDatabase implements Solution {
     private final ImageModelService imageModelService;
     private final OperatingSystemService operatingSystemService;
     private final LocationModelService locationModelService;
+    private final SyncEventBus syncEventBus;
 
     @Inject
     public ImportImageToDatabase(ImageModelService imageModelService,
-                                 OperatingSystemService operatingSystemService, LocationModelService locationModelService) {
+                                 OperatingSystemService operatingSystemService, LocationModelService locationModelService,
+                                 SyncEventBus syncEventBus) {
         this.imageModelService = imageModelService;
         this.operatingSystemService = operatingSystemService;
         this.locationModelService = locationModelService;
+        this.syncEventBus = syncEventBus;
     }
 
     @Override
@@ -67,6 +72,7 @@ public class ImportImageToDatabase implements Solution {
                 SlashEncodedId.of(imageNotInDatabase.getResource().id()).cloudId());
         if (existingImage != null) {
             existingImage.addCloudCredential(imageNotInDatabase.getResource().credential());
+            syncEventBus.publish(SyncEvent.Type.UPDATED, existingImage);
             return;
         }
 
@@ -89,7 +95,7 @@ public class ImportImageToDatabase implements Solution {
 
         OperatingSystem operatingSystem =
                 new OperatingSystem(imageNotInDatabase.getResource().operatingSystem());
-        operatingSystemService.save(operatingSystem);
+        operatingSystemService.saveDeferred(operatingSystem);
 
         //todo check this
         Image image = new Image(imageNotInDatabase.getResource().cloudId(),
@@ -97,6 +103,7 @@ public class ImportImageToDatabase implements Solution {
                 imageNotInDatabase.getResource().swordId(), cloud, location,
                 imageNotInDatabase.getResource().name(), operatingSystem, null, null);
         image.addCloudCredential(imageNotInDatabase.getResource().credential());
-        imageModelService.save(image);
+        imageModelService.saveDeferred(image);
+        syncEventBus.publish(SyncEvent.Type.IMPORTED, image);
     }
 }
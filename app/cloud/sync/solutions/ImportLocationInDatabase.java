@@ -22,6 +22,8 @@ import cloud.SlashEncodedId;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
 import cloud.sync.problems.LocationProblems;
 import com.google.common.base.Optional;
 import com.google.inject.Inject;
@@ -37,10 +39,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 public class ImportLocationInDatabase implements Solution {
 
     private final LocationModelService locationModelService;
+    private final SyncEventBus syncEventBus;
 
     @Inject
-    public ImportLocationInDatabase(LocationModelService locationModelService) {
+    public ImportLocationInDatabase(LocationModelService locationModelService,
+                                    SyncEventBus syncEventBus) {
         this.locationModelService = locationModelService;
+        this.syncEventBus = syncEventBus;
     }
 
     @Override
@@ -59,6 +64,7 @@ public class ImportLocationInDatabase implements Solution {
         if (existingLocation != null) {
             existingLocation
                     .addCloudCredential(locationNotInDatabase.getResource().credential());
+            syncEventBus.publish(SyncEvent.Type.UPDATED, existingLocation);
             return;
         }
 
@@ -85,7 +91,8 @@ public class ImportLocationInDatabase implements Solution {
                 locationNotInDatabase.getResource().locationScope(),
                 locationNotInDatabase.getResource().isAssignable());
 
-        this.locationModelService.save(location);
+        this.locationModelService.saveDeferred(location);
+        syncEventBus.publish(SyncEvent.Type.IMPORTED, location);
     }
 
 
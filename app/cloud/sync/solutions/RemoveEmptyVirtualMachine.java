@@ -3,6 +3,8 @@ package cloud.sync.solutions;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
 import cloud.sync.problems.VirtualMachineProblems;
 import com.google.inject.Inject;
 import models.VirtualMachine;
@@ -17,11 +19,15 @@ import static com.google.common.base.Preconditions.checkState;
 public class RemoveEmptyVirtualMachine implements Solution {
 
     private final VirtualMachineModelService virtualMachineModelService;
+    private final SyncEventBus syncEventBus;
 
     @Inject
-    public RemoveEmptyVirtualMachine(VirtualMachineModelService virtualMachineModelService) {
+    public RemoveEmptyVirtualMachine(VirtualMachineModelService virtualMachineModelService,
+        SyncEventBus syncEventBus) {
         checkNotNull(virtualMachineModelService, "virtualMachineModelService is null.");
+        checkNotNull(syncEventBus, "syncEventBus is null.");
         this.virtualMachineModelService = virtualMachineModelService;
+        this.syncEventBus = syncEventBus;
     }
 
     @Override
@@ -42,5 +48,6 @@ public class RemoveEmptyVirtualMachine implements Solution {
         }
 
         virtualMachineModelService.delete(inDatabase);
+        syncEventBus.publish(SyncEvent.Type.REMOVED, inDatabase);
     }
 }
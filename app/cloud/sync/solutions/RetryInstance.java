@@ -21,6 +21,8 @@ package cloud.sync.solutions;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
 import cloud.sync.problems.InstanceProblems;
 import com.google.inject.Inject;
 import components.job.JobService;
@@ -38,9 +40,11 @@ public class RetryInstance implements Solution {
 
     private final JobService jobService;
     private final ModelService<Instance> instanceModelService;
+    private final SyncEventBus syncEventBus;
 
     @Inject
-    public RetryInstance(JobService jobService, ModelService<Instance> instanceModelService) {
+    public RetryInstance(JobService jobService, ModelService<Instance> instanceModelService,
+        SyncEventBus syncEventBus) {
 
         checkNotNull(instanceModelService, "instanceModelService is null.");
 
@@ -49,6 +53,10 @@ public class RetryInstance implements Solution {
         checkNotNull(jobService, "jobService is null.");
 
         this.jobService = jobService;
+
+        checkNotNull(syncEventBus, "syncEventBus is null.");
+
+        this.syncEventBus = syncEventBus;
     }
 
     @Override public boolean isSolutionFor(Problem problem) {
@@ -75,8 +83,9 @@ public class RetryInstance implements Solution {
         checkState(instance.tenant().isPresent(), "Tenant of instance is not present.");
 
         instance.unbind();
-        instanceModelService.save(instance);
+        instanceModelService.saveDeferred(instance);
 
         jobService.newInstanceJob(instance, instance.tenant().get());
+        syncEventBus.publish(SyncEvent.Type.STATE_CHANGED, instance);
     }
 }
@@ -21,6 +21,8 @@ package cloud.sync.solutions;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
 import cloud.sync.problems.VirtualMachineProblems;
 import com.google.inject.Inject;
 import components.job.JobService;
@@ -38,9 +40,10 @@ public class RetryVirtualMachine implements Solution {
 
     private final JobService jobService;
     private final VirtualMachineModelService virtualMachineModelService;
+    private final SyncEventBus syncEventBus;
 
     @Inject public RetryVirtualMachine(JobService jobService,
-        VirtualMachineModelService virtualMachineModelService) {
+        VirtualMachineModelService virtualMachineModelService, SyncEventBus syncEventBus) {
 
         checkNotNull(virtualMachineModelService, "virtualMachineModelService is null.");
 
@@ -49,6 +52,10 @@ public class RetryVirtualMachine implements Solution {
         checkNotNull(jobService, "jobService is null.");
 
         this.jobService = jobService;
+
+        checkNotNull(syncEventBus, "syncEventBus is null.");
+
+        this.syncEventBus = syncEventBus;
     }
 
     @Override public boolean isSolutionFor(Problem problem) {
@@ -78,8 +85,9 @@ public class RetryVirtualMachine implements Solution {
 
         //unbind existing virtual machine and remove ipAddresses
         virtualMachine.unbind();
-        virtualMachineModelService.save(virtualMachine);
+        virtualMachineModelService.saveDeferred(virtualMachine);
 
         jobService.newVirtualMachineJob(virtualMachine, virtualMachine.owner().get().getTenant());
+        syncEventBus.publish(SyncEvent.Type.STATE_CHANGED, virtualMachine);
     }
 }
@@ -18,15 +18,16 @@
 
 package cloud.sync.watchdogs;
 
-import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.ProblemQueue;
+import cloud.sync.Reconciler;
+import cloud.sync.SyncContext;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
+import com.google.inject.Provider;
 
 import java.util.Set;
 
 import cloud.CloudService;
-import components.execution.SimpleBlockingQueue;
 
 
 
@@ -37,10 +38,17 @@ public abstract class AbstractCloudServiceWatchdog<T> extends AbstractWatchDog<T
 
     private final CloudService cloudService;
 
-    @Inject protected AbstractCloudServiceWatchdog(
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
-        Set<ProblemDetector<T>> problemDetectors, CloudService cloudService) {
-        super(problemQueue, problemDetectors);
+    @Inject protected AbstractCloudServiceWatchdog(ProblemQueue problemQueue,
+        Set<ProblemDetector<T>> problemDetectors, Provider<SyncContext> syncContextProvider,
+        CloudService cloudService) {
+        super(problemQueue, problemDetectors, syncContextProvider);
+        this.cloudService = cloudService;
+    }
+
+    protected AbstractCloudServiceWatchdog(ProblemQueue problemQueue,
+        Set<Reconciler<T>> reconcilers, Set<ProblemDetector<T>> problemDetectors,
+        Provider<SyncContext> syncContextProvider, CloudService cloudService) {
+        super(problemQueue, reconcilers, problemDetectors, syncContextProvider);
         this.cloudService = cloudService;
     }
 
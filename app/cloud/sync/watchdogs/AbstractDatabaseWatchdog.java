@@ -1,10 +1,10 @@
 package cloud.sync.watchdogs;
 
-import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.ProblemQueue;
+import cloud.sync.SyncContext;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import components.execution.SimpleBlockingQueue;
+import com.google.inject.Provider;
 import models.generic.Model;
 import models.service.ModelService;
 
@@ -19,10 +19,10 @@ public abstract class AbstractDatabaseWatchdog<T extends Model> extends Abstract
 
     private final ModelService<T> modelService;
 
-    @Inject protected AbstractDatabaseWatchdog(
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
-        Set<ProblemDetector<T>> problemDetectors, ModelService<T> modelService) {
-        super(problemQueue, problemDetectors);
+    @Inject protected AbstractDatabaseWatchdog(ProblemQueue problemQueue,
+        Set<ProblemDetector<T>> problemDetectors, Provider<SyncContext> syncContextProvider,
+        ModelService<T> modelService) {
+        super(problemQueue, problemDetectors, syncContextProvider);
 
         checkNotNull(modelService, "modelService is null.");
 
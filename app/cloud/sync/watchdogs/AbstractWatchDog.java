@@ -20,15 +20,22 @@ package cloud.sync.watchdogs;
 
 import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.ProblemQueue;
+import cloud.sync.Reconciler;
+import cloud.sync.SyncContext;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
+import com.google.inject.Provider;
 import components.execution.Schedulable;
-import components.execution.SimpleBlockingQueue;
 import play.Logger;
 import play.db.jpa.Transactional;
 import util.logging.Loggers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -40,19 +47,35 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public abstract class AbstractWatchDog<T> implements Schedulable {
 
     private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
-    private final SimpleBlockingQueue<Problem> problemQueue;
+    private final ProblemQueue problemQueue;
+    private final Set<Reconciler<T>> reconcilers;
     private final Set<ProblemDetector<T>> detectors;
+    private final Provider<SyncContext> syncContextProvider;
+    private volatile boolean lastRunChanged = true;
+    /**
+     * The problems found by the previous run, see {@link #signature(Problem)}.
+     */
+    private volatile Set<String> previousProblems = Collections.emptySet();
 
     @Inject
-    protected AbstractWatchDog(
-            @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
-            Set<ProblemDetector<T>> detectors) {
+    protected AbstractWatchDog(ProblemQueue problemQueue,
+            Set<ProblemDetector<T>> detectors, Provider<SyncContext> syncContextProvider) {
+        this(problemQueue, Collections.emptySet(), detectors, syncContextProvider);
+    }
+
+    protected AbstractWatchDog(ProblemQueue problemQueue,
+            Set<Reconciler<T>> reconcilers, Set<ProblemDetector<T>> detectors,
+            Provider<SyncContext> syncContextProvider) {
 
         checkNotNull(problemQueue, "problemQueue is null.");
+        checkNotNull(reconcilers, "reconcilers is null.");
         checkNotNull(detectors, "detectors is null.");
+        checkNotNull(syncContextProvider, "syncContextProvider is null.");
 
         this.problemQueue = problemQueue;
+        this.reconcilers = reconcilers;
         this.detectors = detectors;
+        this.syncContextProvider = syncContextProvider;
     }
 
     @Transactional(readOnly = true)
@@ -61,32 +84,70 @@ public abstract class AbstractWatchDog<T> implements Schedulable {
 
         LOGGER.info(String.format("%s is starting watching.", this));
 
-        Iterable<T> toWatch = toWatch();
+        final List<T> toWatch = ImmutableList.copyOf(toWatch());
 
-        if (Iterables.size(toWatch) > 0) {
-            LOGGER
-                    .debug(String.format("%s is watching %s entities.", this, Iterables.size(toWatch)));
-            for (T t : toWatch()) {
+        if (!toWatch.isEmpty()) {
+            LOGGER.debug(String.format("%s is watching %s entities.", this, toWatch.size()));
+            final SyncContext context = syncContextProvider.get();
+            final List<Problem> problems = new ArrayList<>();
+            for (Reconciler<T> reconciler : reconcilers) {
+                LOGGER.trace(String.format("%s is applying reconciler %s", this, reconciler));
+                Iterables.addAll(problems, reconciler.reconcile(toWatch));
+            }
+            for (T t : toWatch) {
                 LOGGER.trace(String.format("%s is starting to watch %s", this, t));
                 for (ProblemDetector<T> problemDetector : detectors) {
                     LOGGER.trace(String
                             .format("%s is applying problem detector %s on %s", this, problemDetector,
                                     t));
-                    final Optional<Problem<T>> problem = problemDetector.apply(t);
+                    final Optional<Problem<T>> problem = problemDetector.apply(t, context);
                     if (problem.isPresent()) {
-                        LOGGER.debug(String.format("%s found problem %s, reporting to queue.", this,
-                                problem.get()));
-                        problemQueue.add(problem.get());
+                        LOGGER.debug(String.format("%s found problem %s.", this, problem.get()));
+                        problems.add(problem.get());
                     }
                 }
             }
+            if (!problems.isEmpty()) {
+                LOGGER.debug(String.format("%s found %s problems, reporting to queue.", this,
+                        problems.size()));
+                problemQueue.addAll(problems);
+            }
+            lastRunChanged = changed(problems);
         } else {
             LOGGER.debug(String.format("%s has nothing to watch", this));
+            lastRunChanged = false;
+            previousProblems = Collections.emptySet();
         }
 
         LOGGER.info(String.format("%s finished watching", this));
     }
 
+    /**
+     * Checks if the run found a problem the previous run did not find, so problems which
+     * persist across runs, e.g. as their solution keeps failing, do not prevent the back off.
+     */
+    private boolean changed(List<Problem> problems) {
+        final Set<String> current = new HashSet<>(problems.size());
+        for (Problem problem : problems) {
+            current.add(signature(problem));
+        }
+        final boolean changed = !previousProblems.containsAll(current);
+        previousProblems = current;
+        return changed;
+    }
+
+    private static String signature(Problem problem) {
+        return problem.getClass().getName() + ':' + problem.key();
+    }
+
+    @Override public boolean adaptive() {
+        return true;
+    }
+
+    @Override public boolean lastRunChanged() {
+        return lastRunChanged;
+    }
+
     /**
      * @return a iterable of objects to watch.
      */
@@ -18,11 +18,11 @@
 
 package cloud.sync.watchdogs;
 
-import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.ProblemQueue;
+import cloud.sync.SyncContext;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import components.execution.SimpleBlockingQueue;
+import com.google.inject.Provider;
 import models.Instance;
 import models.service.ModelService;
 
@@ -34,10 +34,14 @@ import java.util.concurrent.TimeUnit;
  */
 public class InstanceWatchdog extends AbstractDatabaseWatchdog<Instance> {
 
-    @Inject protected InstanceWatchdog(
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
-        Set<ProblemDetector<Instance>> problemDetectors, ModelService<Instance> modelService) {
-        super(problemQueue, problemDetectors, modelService);
+    @Inject protected InstanceWatchdog(ProblemQueue problemQueue,
+        Set<ProblemDetector<Instance>> problemDetectors,
+        Provider<SyncContext> syncContextProvider, ModelService<Instance> modelService) {
+        super(problemQueue, problemDetectors, syncContextProvider, modelService);
+    }
+
+    @Override public String toString() {
+        return "InstanceWatchdog";
     }
 
     @Override public long period() {
@@ -19,16 +19,17 @@
 package cloud.sync.watchdogs;
 
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
+import com.google.inject.Provider;
 
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import cloud.CloudService;
 import cloud.resources.LocationInCloud;
-import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
-import components.execution.SimpleBlockingQueue;
+import cloud.sync.ProblemQueue;
+import cloud.sync.Reconciler;
+import cloud.sync.SyncContext;
 import components.execution.Stable;
 
 /**
@@ -36,10 +37,11 @@ import components.execution.Stable;
  */
 @Stable public class LocationWatchdog extends AbstractCloudServiceWatchdog<LocationInCloud> {
 
-    @Inject protected LocationWatchdog(
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
-        Set<ProblemDetector<LocationInCloud>> problemDetectors, CloudService cloudService) {
-        super(problemQueue, problemDetectors, cloudService);
+    @Inject protected LocationWatchdog(ProblemQueue problemQueue,
+        Set<Reconciler<LocationInCloud>> reconcilers,
+        Set<ProblemDetector<LocationInCloud>> problemDetectors,
+        Provider<SyncContext> syncContextProvider, CloudService cloudService) {
+        super(problemQueue, reconcilers, problemDetectors, syncContextProvider, cloudService);
     }
     
     @Override public String toString() {
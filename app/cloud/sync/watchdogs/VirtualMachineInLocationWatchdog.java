@@ -20,11 +20,11 @@ package cloud.sync.watchdogs;
 
 import cloud.CloudService;
 import cloud.resources.VirtualMachineInLocation;
-import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.ProblemQueue;
+import cloud.sync.SyncContext;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import components.execution.SimpleBlockingQueue;
+import com.google.inject.Provider;
 import components.execution.Stable;
 
 import java.util.Set;
@@ -36,11 +36,14 @@ import java.util.concurrent.TimeUnit;
 @Stable public class VirtualMachineInLocationWatchdog
     extends AbstractCloudServiceWatchdog<VirtualMachineInLocation> {
 
-    @Inject protected VirtualMachineInLocationWatchdog(
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
+    @Inject protected VirtualMachineInLocationWatchdog(ProblemQueue problemQueue,
         Set<ProblemDetector<VirtualMachineInLocation>> problemDetectors,
-        CloudService cloudService) {
-        super(problemQueue, problemDetectors, cloudService);
+        Provider<SyncContext> syncContextProvider, CloudService cloudService) {
+        super(problemQueue, problemDetectors, syncContextProvider, cloudService);
+    }
+
+    @Override public String toString() {
+        return "VirtualMachineInLocationWatchdog";
     }
 
     @Override public long period() {
@@ -18,11 +18,11 @@
 
 package cloud.sync.watchdogs;
 
-import cloud.sync.Problem;
 import cloud.sync.ProblemDetector;
+import cloud.sync.ProblemQueue;
+import cloud.sync.SyncContext;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import components.execution.SimpleBlockingQueue;
+import com.google.inject.Provider;
 import models.VirtualMachine;
 import models.service.ModelService;
 
@@ -34,11 +34,15 @@ import java.util.concurrent.TimeUnit;
  */
 public class VirtualMachineWatchdog extends AbstractDatabaseWatchdog<VirtualMachine> {
 
-    @Inject protected VirtualMachineWatchdog(
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
+    @Inject protected VirtualMachineWatchdog(ProblemQueue problemQueue,
         Set<ProblemDetector<VirtualMachine>> problemDetectors,
+        Provider<SyncContext> syncContextProvider,
         ModelService<VirtualMachine> modelService) {
-        super(problemQueue, problemDetectors, modelService);
+        super(problemQueue, problemDetectors, syncContextProvider, modelService);
+    }
+
+    @Override public String toString() {
+        return "VirtualMachineWatchdog";
     }
 
     @Override public long period() {
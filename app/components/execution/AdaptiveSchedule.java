@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Runs a {@link Schedulable} periodically by re-arming it after each run.
+ * <p>
+ * As the next run is only scheduled when the previous one finished, runs never overlap
+ * and a run exceeding the period is not directly followed by the next one. Every delay
+ * is randomly jittered, so schedulables sharing the same period spread out. For
+ * {@link Schedulable#adaptive()} schedulables, the period is stretched by the backoff of
+ * the {@link SchedulePolicy} after every run that did not change anything and reset to
+ * the configured period once a run changes something.
+ */
+class AdaptiveSchedule implements Runnable, ScheduleStatus {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.EXECUTION);
+
+    private final Schedulable schedulable;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final SchedulePolicy policy;
+    private final long basePeriod;
+    private final long maxPeriod;
+
+    private volatile long effectivePeriod;
+    private volatile long lastDuration = -1;
+    private volatile long lastRun = -1;
+    private volatile int unchangedRuns = 0;
+
+    AdaptiveSchedule(Schedulable schedulable, ScheduledExecutorService scheduledExecutorService,
+        SchedulePolicy policy) {
+
+        checkNotNull(schedulable, "schedulable is null.");
+        checkNotNull(scheduledExecutorService, "scheduledExecutorService is null.");
+        checkNotNull(policy, "policy is null.");
+
+        this.schedulable = schedulable;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.policy = policy;
+        this.basePeriod = policy.basePeriod(schedulable);
+        this.maxPeriod = (long) (basePeriod * policy.maxFactor());
+        this.effectivePeriod = basePeriod;
+    }
+
+    void start() {
+        //spread the first runs over a whole period
+        final long delay = schedulable.timeUnit().toMillis(schedulable.delay()) + (basePeriod > 0 ?
+            ThreadLocalRandom.current().nextLong(basePeriod) :
+            0);
+        scheduledExecutorService.schedule(this, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override public void run() {
+
+        final long start = System.nanoTime();
+        try {
+            schedulable.run();
+        } finally {
+            lastDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastRun = System.currentTimeMillis();
+        }
+
+        adapt();
+
+        if (lastDuration > effectivePeriod) {
+            LOGGER.warn(String
+                .format("%s took %s ms, exceeding its period of %s ms.", schedulable,
+                    lastDuration, effectivePeriod));
+        }
+
+        try {
+            scheduledExecutorService.schedule(this, jittered(effectivePeriod),
+                TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug(String.format("Not rescheduling %s as execution was rejected.", this),
+                e);
+        }
+    }
+
+    private void adapt() {
+        if (!schedulable.adaptive()) {
+            return;
+        }
+        if (schedulable.lastRunChanged()) {
+            unchangedRuns = 0;
+            effectivePeriod = basePeriod;
+        } else {
+            unchangedRuns++;
+            effectivePeriod = Math.min(maxPeriod, (long) (effectivePeriod * policy.backoff()));
+        }
+        LOGGER.debug(String
+            .format("%s ran in %s ms, %s unchanged runs, next period is %s ms.", schedulable,
+                lastDuration, unchangedRuns, effectivePeriod));
+    }
+
+    private long jittered(long period) {
+        final double deviation =
+            (ThreadLocalRandom.current().nextDouble() * 2 - 1) * policy.jitter();
+        return Math.max(0, Math.round(period * (1 + deviation)));
+    }
+
+    @Override public String name() {
+        return schedulable.toString();
+    }
+
+    @Override public long basePeriod() {
+        return basePeriod;
+    }
+
+    @Override public long effectivePeriod() {
+        return effectivePeriod;
+    }
+
+    @Override public long lastDuration() {
+        return lastDuration;
+    }
+
+    @Override public long lastRun() {
+        return lastRun;
+    }
+
+    @Override public int unchangedRuns() {
+        return unchangedRuns;
+    }
+
+    @Override public String toString() {
+        return "AdaptiveSchedule{" + schedulable + "}";
+    }
+}
@@ -26,7 +26,10 @@ import play.Configuration;
 import play.Environment;
 import play.db.jpa.JPAApi;
 import play.db.jpa.Transactional;
+import util.ConfigurationConstants;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -52,12 +55,32 @@ public class ExecutionModule extends AbstractModule {
         final ThreadFactory threadFactory =
             new ThreadFactoryBuilder().setNameFormat("ExecutionService-%d").build();
 
+        final ScheduleRegistry scheduleRegistry = new ScheduleRegistry();
+        bind(ScheduleRegistry.class).toInstance(scheduleRegistry);
+
         bind(ExecutionService.class).toInstance(new StableScheduledThreadExecutor(
             new ScheduledThreadPoolExecutorExecutionService(new LoggingScheduledThreadPoolExecutor(
-                configuration.getInt("colosseum.execution.thread", 10), threadFactory))));
+                configuration.getInt("colosseum.execution.thread", 10), threadFactory),
+                schedulePolicy(), scheduleRegistry)));
         bind(ExecutionSystemInitialization.class).asEagerSingleton();
 
         Multibinder.newSetBinder(binder(), Runnable.class);
         Multibinder.newSetBinder(binder(), Schedulable.class);
     }
+
+    private SchedulePolicy schedulePolicy() {
+        final Map<String, Long> periods = new HashMap<>();
+        final Configuration periodConfiguration =
+            configuration.getConfig(ConfigurationConstants.EXECUTION_SCHEDULE_PERIOD);
+        if (periodConfiguration != null) {
+            for (String name : periodConfiguration.keys()) {
+                periods.put(name, periodConfiguration.getLong(name));
+            }
+        }
+        return new SchedulePolicy(
+            configuration.getDouble(ConfigurationConstants.EXECUTION_SCHEDULE_JITTER, 0.2),
+            configuration.getDouble(ConfigurationConstants.EXECUTION_SCHEDULE_BACKOFF, 1.5),
+            configuration.getDouble(ConfigurationConstants.EXECUTION_SCHEDULE_MAX_FACTOR, 6d),
+            periods);
+    }
 }
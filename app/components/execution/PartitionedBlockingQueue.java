@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A queue divided into a fixed number of {@link SimpleBlockingQueue} partitions.
+ * <p>
+ * Elements with the same key are always added to the same partition. Consumers take from
+ * a single partition, so consumers of distinct partitions can work in parallel, while
+ * elements with the same key are still consumed in order.
+ *
+ * @param <T> the type of the elements.
+ */
+public class PartitionedBlockingQueue<T> {
+
+    private final List<SimpleBlockingQueue<T>> partitions;
+    private final Function<? super T, ?> key;
+
+    public PartitionedBlockingQueue(int numberOfPartitions,
+        Supplier<? extends SimpleBlockingQueue<T>> partitionFactory, Function<? super T, ?> key) {
+
+        checkArgument(numberOfPartitions > 0, "numberOfPartitions needs to be positive.");
+        checkNotNull(partitionFactory, "partitionFactory is null.");
+        checkNotNull(key, "key is null.");
+
+        final ImmutableList.Builder<SimpleBlockingQueue<T>> builder = ImmutableList.builder();
+        for (int i = 0; i < numberOfPartitions; i++) {
+            builder.add(partitionFactory.get());
+        }
+        this.partitions = builder.build();
+        this.key = key;
+    }
+
+    public void add(T t) {
+        checkNotNull(t, "t is null.");
+        partitions.get(Math.floorMod(key.apply(t).hashCode(), partitions.size())).add(t);
+    }
+
+    public int partitions() {
+        return partitions.size();
+    }
+
+    public SimpleBlockingQueue<T> partition(int partition) {
+        checkElementIndex(partition, partitions.size());
+        return partitions.get(partition);
+    }
+}
@@ -31,4 +31,19 @@ public interface Schedulable extends Runnable {
 
     TimeUnit timeUnit();
 
+    /**
+     * @return true if the period of this schedulable may be stretched while its runs do not
+     * change anything, see {@link #lastRunChanged()}.
+     */
+    default boolean adaptive() {
+        return false;
+    }
+
+    /**
+     * @return true if the last run found or changed anything.
+     */
+    default boolean lastRunChanged() {
+        return true;
+    }
+
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Parameters of the {@link AdaptiveSchedule}.
+ */
+class SchedulePolicy {
+
+    private final double jitter;
+    private final double backoff;
+    private final double maxFactor;
+    private final Map<String, Long> periods;
+
+    /**
+     * @param jitter    fraction of the period the actual delay randomly deviates by.
+     * @param backoff   factor the period is stretched by after a run without changes.
+     * @param maxFactor maximum multiple of the configured period the period is stretched to.
+     * @param periods   period overrides by name of the schedulable, in its time unit.
+     */
+    SchedulePolicy(double jitter, double backoff, double maxFactor, Map<String, Long> periods) {
+
+        checkArgument(jitter >= 0 && jitter < 1, "jitter needs to be in [0,1).");
+        checkArgument(backoff >= 1, "backoff needs to be >= 1.");
+        checkArgument(maxFactor >= 1, "maxFactor needs to be >= 1.");
+        checkNotNull(periods, "periods is null.");
+
+        this.jitter = jitter;
+        this.backoff = backoff;
+        this.maxFactor = maxFactor;
+        this.periods = ImmutableMap.copyOf(periods);
+    }
+
+    double jitter() {
+        return jitter;
+    }
+
+    double backoff() {
+        return backoff;
+    }
+
+    double maxFactor() {
+        return maxFactor;
+    }
+
+    /**
+     * @return the period of the schedulable in milliseconds, taking overrides into account.
+     */
+    long basePeriod(Schedulable schedulable) {
+        final Long override = periods.get(schedulable.toString());
+        return schedulable.timeUnit()
+            .toMillis(override != null ? override : schedulable.period());
+    }
+
+}
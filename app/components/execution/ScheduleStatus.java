@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+/**
+ * Current scheduling state of a {@link Schedulable}. All durations are in milliseconds.
+ */
+public interface ScheduleStatus {
+
+    String name();
+
+    /**
+     * @return the configured period.
+     */
+    long basePeriod();
+
+    /**
+     * @return the period used for the next run, before jitter is applied.
+     */
+    long effectivePeriod();
+
+    /**
+     * @return the duration of the last run, -1 if it did not run yet.
+     */
+    long lastDuration();
+
+    /**
+     * @return the timestamp the last run finished at, -1 if it did not run yet.
+     */
+    long lastRun();
+
+    /**
+     * @return the number of consecutive runs that did not change anything.
+     */
+    int unchangedRuns();
+
+}
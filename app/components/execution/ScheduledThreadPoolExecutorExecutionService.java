@@ -25,27 +25,41 @@ import java.util.concurrent.ScheduledExecutorService;
 import play.Logger;
 import util.logging.Loggers;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Created by daniel on 17.04.15.
  */
 @Singleton class ScheduledThreadPoolExecutorExecutionService implements ExecutionService {
 
     private final ScheduledExecutorService scheduledExecutorService;
+    private final SchedulePolicy schedulePolicy;
+    private final ScheduleRegistry scheduleRegistry;
 
     private static final Logger.ALogger LOGGER = Loggers.of(Loggers.EXECUTION);
 
     public ScheduledThreadPoolExecutorExecutionService(
-        ScheduledExecutorService scheduledExecutorService) {
+        ScheduledExecutorService scheduledExecutorService, SchedulePolicy schedulePolicy,
+        ScheduleRegistry scheduleRegistry) {
+
+        checkNotNull(scheduledExecutorService, "scheduledExecutorService is null.");
+        checkNotNull(schedulePolicy, "schedulePolicy is null.");
+        checkNotNull(scheduleRegistry, "scheduleRegistry is null.");
+
         this.scheduledExecutorService = scheduledExecutorService;
+        this.schedulePolicy = schedulePolicy;
+        this.scheduleRegistry = scheduleRegistry;
     }
 
     @Override public void schedule(Schedulable schedulable) {
+        final AdaptiveSchedule schedule =
+            new AdaptiveSchedule(schedulable, scheduledExecutorService, schedulePolicy);
         LOGGER.info(String
-            .format("%s is scheduling %s with initial delay of %s and period of %s %s", this,
-                schedulable, schedulable.delay(), schedulable.period(), schedulable.timeUnit()));
-        this.scheduledExecutorService
-            .scheduleAtFixedRate(schedulable, schedulable.delay(), schedulable.period(),
-                schedulable.timeUnit());
+            .format("%s is scheduling %s with initial delay of %s %s and period of %s ms", this,
+                schedulable, schedulable.delay(), schedulable.timeUnit(),
+                schedule.basePeriod()));
+        scheduleRegistry.register(schedule);
+        schedule.start();
     }
 
     @Override public void execute(Runnable runnable) {
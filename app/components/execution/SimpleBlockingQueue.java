@@ -18,6 +18,8 @@
 
 package components.execution;
 
+import java.util.Collection;
+
 /**
  * Created by daniel on 08.05.15.
  */
@@ -25,5 +27,23 @@ public interface SimpleBlockingQueue<T> {
 
     void add(T t);
 
+    default void addAll(Iterable<? extends T> ts) {
+        for (T t : ts) {
+            add(t);
+        }
+    }
+
     T take() throws InterruptedException;
+
+    /**
+     * Removes at most the given number of available elements without blocking and adds
+     * them to the given collection. Queues not supporting this do not drain any element.
+     *
+     * @param collection  the collection to drain to.
+     * @param maxElements the maximum number of elements to drain.
+     * @return the number of elements drained.
+     */
+    default int drainTo(Collection<? super T> collection, int maxElements) {
+        return 0;
+    }
 }
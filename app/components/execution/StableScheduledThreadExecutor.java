@@ -77,6 +77,14 @@ public class StableScheduledThreadExecutor implements ExecutionService {
             return delegate.timeUnit();
         }
 
+        @Override public boolean adaptive() {
+            return delegate.adaptive();
+        }
+
+        @Override public boolean lastRunChanged() {
+            return delegate.lastRunChanged();
+        }
+
         @Override public void run() {
             try {
                 LOGGER.info(
@@ -88,6 +96,10 @@ public class StableScheduledThreadExecutor implements ExecutionService {
                     delegate), e);
             }
         }
+
+        @Override public String toString() {
+            return delegate.toString();
+        }
     }
 
 }
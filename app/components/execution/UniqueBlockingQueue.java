@@ -20,6 +20,9 @@ package components.execution;
 
 import com.google.common.collect.Sets;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -47,4 +50,14 @@ public class UniqueBlockingQueue<T> implements SimpleBlockingQueue<T> {
         return t;
     }
 
+    @Override public int drainTo(Collection<? super T> collection, int maxElements) {
+        final List<T> drained = new ArrayList<>();
+        this.queue.drainTo(drained, maxElements);
+        for (T t : drained) {
+            this.set.remove(t);
+            collection.add(t);
+        }
+        return drained.size();
+    }
+
 }
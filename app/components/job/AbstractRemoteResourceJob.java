@@ -101,7 +101,7 @@ public abstract class AbstractRemoteResourceJob<T extends RemoteResource> implem
         jpaApi().withTransaction(() -> {
             T t = getT();
             t.setRemoteState(RemoteState.INPROGRESS);
-            modelService.save(t);
+            modelService.saveDeferred(t);
         });
     }
 
@@ -112,7 +112,7 @@ public abstract class AbstractRemoteResourceJob<T extends RemoteResource> implem
         jpaApi().withTransaction(() -> {
             T t = getT();
             t.setRemoteState(RemoteState.OK);
-            modelService.save(t);
+            modelService.saveDeferred(t);
         });
     }
 
@@ -120,7 +120,7 @@ public abstract class AbstractRemoteResourceJob<T extends RemoteResource> implem
         jpaApi().withTransaction(() -> {
             T t = getT();
             t.setRemoteState(RemoteState.ERROR);
-            modelService.save(t);
+            modelService.saveDeferred(t);
         });
     }
 
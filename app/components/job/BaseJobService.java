@@ -22,6 +22,9 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 import cloud.CloudService;
 import cloud.colosseum.ColosseumComputeService;
 import cloud.strategies.KeyPairStrategy;
@@ -77,30 +80,68 @@ import play.db.jpa.JPAApi;
         this.rawMonitorModelService = rawMonitorModelService;
     }
 
+    private Job createVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
+        return new CreateVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
+            tenantModelService, colosseumComputeService, tenant, keyPairStrategy,
+            remoteConnectionStrategyFactory, portProvidedService);
+    }
+
+    private Job createInstanceJob(Instance instance, Tenant tenant) {
+        return new CreateInstanceJob(configuration, jpaApi, instance, instanceModelService,
+            tenantModelService, colosseumComputeService, tenant, modelValidationService);
+    }
+
+    private Job deleteVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
+        return new DeleteVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
+            tenantModelService, colosseumComputeService, tenant, monitorInstanceModelService,
+            rawMonitorModelService);
+    }
+
+    private Job deleteInstanceJob(Instance instance, Tenant tenant) {
+        return new DeleteInstanceJob(configuration, jpaApi, instance, instanceModelService,
+            tenantModelService, colosseumComputeService, tenant);
+    }
+
     @Override public void newVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
-        this.jobQueue.add(
-            new CreateVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
-                tenantModelService, colosseumComputeService, tenant, keyPairStrategy,
-                remoteConnectionStrategyFactory, portProvidedService));
+        this.jobQueue.add(createVirtualMachineJob(virtualMachine, tenant));
     }
 
     @Override public void newInstanceJob(Instance instance, Tenant tenant) {
-        this.jobQueue.add(
-            new CreateInstanceJob(configuration, jpaApi, instance, instanceModelService,
-                tenantModelService, colosseumComputeService, tenant, modelValidationService));
+        this.jobQueue.add(createInstanceJob(instance, tenant));
+    }
+
+    @Override public void newVirtualMachineJobs(Collection<VirtualMachine> virtualMachines,
+        Tenant tenant) {
+        this.jobQueue.addAll(virtualMachines.stream()
+            .map(virtualMachine -> createVirtualMachineJob(virtualMachine, tenant))
+            .collect(Collectors.toList()));
+    }
+
+    @Override public void newInstanceJobs(Collection<Instance> instances, Tenant tenant) {
+        this.jobQueue.addAll(
+            instances.stream().map(instance -> createInstanceJob(instance, tenant))
+                .collect(Collectors.toList()));
     }
 
     @Override public void newDeleteVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
-        this.jobQueue.add(
-            new DeleteVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
-                tenantModelService, colosseumComputeService, tenant, monitorInstanceModelService,
-                rawMonitorModelService));
+        this.jobQueue.add(deleteVirtualMachineJob(virtualMachine, tenant));
     }
 
     @Override public void newDeleteInstanceJob(Instance instance, Tenant tenant) {
-        this.jobQueue.add(
-            new DeleteInstanceJob(configuration, jpaApi, instance, instanceModelService,
-                tenantModelService, colosseumComputeService, tenant));
+        this.jobQueue.add(deleteInstanceJob(instance, tenant));
+    }
+
+    @Override public void newDeleteVirtualMachineJobs(Collection<VirtualMachine> virtualMachines,
+        Tenant tenant) {
+        this.jobQueue.addAll(virtualMachines.stream()
+            .map(virtualMachine -> deleteVirtualMachineJob(virtualMachine, tenant))
+            .collect(Collectors.toList()));
+    }
+
+    @Override public void newDeleteInstanceJobs(Collection<Instance> instances, Tenant tenant) {
+        this.jobQueue.addAll(
+            instances.stream().map(instance -> deleteInstanceJob(instance, tenant))
+                .collect(Collectors.toList()));
     }
 
 }
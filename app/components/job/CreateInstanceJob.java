@@ -270,7 +270,7 @@ public class CreateInstanceJob extends AbstractRemoteResourceJob<Instance> {
             jpaApi().withTransaction(() -> {
                 Instance instance = getT();
                 instance.bindRemoteId(componentInstanceId.toString());
-                modelService.save(instance);
+                modelService.saveDeferred(instance);
                 LOGGER.debug(String
                     .format("Updated instance %s in database. Set remote ID to %s.", instance,
                         componentInstanceId));
@@ -159,7 +159,7 @@ public class CreateVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
                 virtualMachine.setGeneratedPrivateKey(loginCredential.privateKey().orElse(null));
             }
 
-            modelService.save(virtualMachine);
+            modelService.saveDeferred(virtualMachine);
 
             if (!virtualMachine.publicIpAddress().isPresent()) {
                 final Optional<PublicIpService> publicIpService =
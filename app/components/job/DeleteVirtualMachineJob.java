@@ -135,7 +135,7 @@ public class DeleteVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
                             rm.getMonitorInstances().remove(miToRemove);
                         }
 
-                        rawMonitorModelService.save(rm);
+                        rawMonitorModelService.saveDeferred(rm);
                     }
 
                     //TODO Do the same for composed monitors
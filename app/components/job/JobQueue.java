@@ -20,25 +20,62 @@ package components.job;
 
 import com.google.inject.Singleton;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import components.execution.SimpleBlockingQueue;
 import components.execution.SimpleFifoPriorityBlockingQueue;
 
 /**
  * Created by daniel on 07.05.15.
+ * <p>
+ * Jobs added by a thread within {@link #begin()} and {@link #commit()} are only submitted on
+ * commit, so a rolled back transaction never starts a job for its changes.
  */
 @Singleton public class JobQueue implements SimpleBlockingQueue<Job> {
 
     private SimpleBlockingQueue<Job> jobSimpleBlockingQueue;
+    private final ThreadLocal<List<Job>> staged = new ThreadLocal<>();
 
     public JobQueue() {
         this.jobSimpleBlockingQueue = new SimpleFifoPriorityBlockingQueue<>();
     }
 
     @Override public void add(Job t) {
-        jobSimpleBlockingQueue.add(t);
+        final List<Job> jobs = staged.get();
+        if (jobs != null) {
+            jobs.add(t);
+        } else {
+            jobSimpleBlockingQueue.add(t);
+        }
     }
 
     @Override public Job take() throws InterruptedException {
         return jobSimpleBlockingQueue.take();
     }
+
+    /**
+     * Starts staging the jobs added by the current thread.
+     */
+    public void begin() {
+        staged.set(new ArrayList<>());
+    }
+
+    /**
+     * Submits the jobs staged since {@link #begin()}.
+     */
+    public void commit() {
+        final List<Job> jobs = staged.get();
+        staged.remove();
+        if (jobs != null) {
+            jobSimpleBlockingQueue.addAll(jobs);
+        }
+    }
+
+    /**
+     * Drops the jobs staged since {@link #begin()}.
+     */
+    public void rollback() {
+        staged.remove();
+    }
 }
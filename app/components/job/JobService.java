@@ -18,6 +18,8 @@
 
 package components.job;
 
+import java.util.Collection;
+
 import models.Instance;
 import models.Tenant;
 import models.VirtualMachine;
@@ -31,7 +33,27 @@ public interface JobService {
 
     void newInstanceJob(Instance instance, Tenant tenant);
 
+    /**
+     * Submits the jobs creating the virtual machines at once.
+     */
+    void newVirtualMachineJobs(Collection<VirtualMachine> virtualMachines, Tenant tenant);
+
+    /**
+     * Submits the jobs creating the instances at once.
+     */
+    void newInstanceJobs(Collection<Instance> instances, Tenant tenant);
+
     void newDeleteVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant);
 
     void newDeleteInstanceJob(Instance instance, Tenant tenant);
+
+    /**
+     * Submits the jobs deleting the virtual machines at once.
+     */
+    void newDeleteVirtualMachineJobs(Collection<VirtualMachine> virtualMachines, Tenant tenant);
+
+    /**
+     * Submits the jobs deleting the instances at once.
+     */
+    void newDeleteInstanceJobs(Collection<Instance> instances, Tenant tenant);
 }
@@ -18,6 +18,7 @@
 
 package components.job;
 
+import models.service.replica.ReplicaRouting;
 import play.Logger;
 import util.logging.Loggers;
 
@@ -35,7 +36,11 @@ class JobWorker implements Runnable {
     }
 
     @Override public void run() {
+        // jobs read back what they just wrote, so they never read from the replica
+        ReplicaRouting.onPrimary(this::execute);
+    }
 
+    private void execute() {
         LOGGER.info(String.format("Starting execution of job %s", job));
         try {
             job.execute();
@@ -358,13 +358,13 @@ public class FrontendCommunicatorImpl implements FrontendCommunicator {
             (vmId == null ? null : virtualMachineModelService.getById(vmId)),
             (componentId == null ? null : componentModelService.getById(componentId)),
             null);
-        monitorInstanceModelService.save(result);
+        monitorInstanceModelService.saveDeferred(result);
         return result;
     }
 
     @Override
     public MonitorInstance saveMonitorInstance(MonitorInstance monitorInstance) {
-        monitorInstanceModelService.save(monitorInstance);
+        monitorInstanceModelService.saveDeferred(monitorInstance);
         return monitorInstance;
     }
 
@@ -50,6 +50,10 @@ public class HardwareController
         return controllers.routes.HardwareController.get(id).absoluteURL(request());
     }
 
+    @Override protected boolean tenantScoped() {
+        return true;
+    }
+
     @Override protected Optional<Predicate<Hardware>> filter() {
         return Optional.of(hardware -> {
             for (Tenant tenant : getUser().getTenants()) {
@@ -49,6 +49,10 @@ public class ImageController extends GenericApiController<Image, ImageDto, Image
         return controllers.routes.ImageController.get(id).absoluteURL(request());
     }
 
+    @Override protected boolean tenantScoped() {
+        return true;
+    }
+
     @Override protected Optional<Predicate<Image>> filter() {
         return Optional.of(image -> {
             for (Tenant tenant : getUser().getTenants()) {
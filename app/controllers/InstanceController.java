@@ -29,6 +29,9 @@ import models.Tenant;
 import models.service.FrontendUserService;
 import models.service.ModelService;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Created by daniel on 09.04.15.
  */
@@ -59,8 +62,23 @@ public class InstanceController
         this.jobService.newInstanceJob(instance, getActiveTenant());
     }
 
+    @Override protected void postPostAll(List<Instance> instances) {
+        final Tenant tenant = getActiveTenant();
+        for (Instance instance : instances) {
+            super.postPost(instance);
+            instance.bindTenant(tenant);
+        }
+        instanceModelService.saveAll(instances);
+        this.jobService.newInstanceJobs(instances, tenant);
+    }
+
     @Override protected boolean preDelete(Instance instance) {
         this.jobService.newDeleteInstanceJob(instance, getActiveTenant());
         return false;
     }
+
+    @Override protected List<Instance> preDeleteAll(List<Instance> instances) {
+        this.jobService.newDeleteInstanceJobs(instances, getActiveTenant());
+        return Collections.emptyList();
+    }
 }
@@ -50,6 +50,10 @@ public class LocationController
         return controllers.routes.LocationController.get(id).absoluteURL(request());
     }
 
+    @Override protected boolean tenantScoped() {
+        return true;
+    }
+
     @Override protected Optional<Predicate<Location>> filter() {
         return Optional.of(location -> {
             for (Tenant tenant : getUser().getTenants()) {
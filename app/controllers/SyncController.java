@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers;
+
+import com.google.inject.Inject;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.Optional;
+
+import cloud.sync.DeadLetter;
+import cloud.sync.ProblemRetries;
+import cloud.sync.SyncEvent;
+import cloud.sync.SyncEventBus;
+import controllers.security.SecuredSessionOrToken;
+import play.libs.EventSource;
+import play.libs.Json;
+import play.mvc.Controller;
+import play.mvc.Result;
+import play.mvc.Security;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Exposes the cloud sync: the stream of its changes as well as inspection and replay of
+ * the problems it gave up on.
+ */
+@Security.Authenticated(SecuredSessionOrToken.class) public class SyncController
+    extends Controller {
+
+    private final ProblemRetries problemRetries;
+    private final SyncEventBus syncEventBus;
+
+    @Inject public SyncController(ProblemRetries problemRetries, SyncEventBus syncEventBus) {
+        checkNotNull(problemRetries, "problemRetries is null.");
+        checkNotNull(syncEventBus, "syncEventBus is null.");
+        this.problemRetries = problemRetries;
+        this.syncEventBus = syncEventBus;
+    }
+
+    /**
+     * Streams the sync events as server-sent events, using the epoch and the sequence number
+     * as event id, see {@link SyncEvent#eventId()}.
+     * <p>
+     * The stream resumes after the event id given by the Last-Event-ID header or the since
+     * parameter, otherwise only future events are sent. If the requested events are no
+     * longer buffered or stem from a previous start of the application, a reset event is
+     * sent and the client needs to rescan.
+     *
+     * @param since the id of the last event received.
+     */
+    public Result events(String since) {
+        final String lastEventId = request().getHeader("Last-Event-ID");
+        final String from = lastEventId != null ? lastEventId : since;
+        final long epoch;
+        final long sequence;
+        if (from.isEmpty()) {
+            epoch = syncEventBus.epoch();
+            sequence = -1;
+        } else {
+            final int separator = from.indexOf('-');
+            try {
+                epoch = separator > 0 ? Long.parseLong(from.substring(0, separator)) : -1;
+                sequence = Long.parseLong(separator > 0 ? from.substring(separator + 1) : from);
+            } catch (NumberFormatException e) {
+                return badRequest("Last-Event-ID needs to be an event id (epoch-sequence).");
+            }
+        }
+
+        return ok(EventSource.whenConnected(eventSource -> {
+            final SyncEventBus.Subscription subscription =
+                syncEventBus.subscribe(epoch, sequence, new SyncEventBus.Listener() {
+                    @Override public void onMissedEvents() {
+                        eventSource
+                            .send(EventSource.Event.event(Json.newObject()).withName("reset"));
+                    }
+
+                    @Override public void accept(SyncEvent event) {
+                        eventSource
+                            .send(EventSource.Event.event(toJson(event)).withId(event.eventId()));
+                    }
+                });
+            eventSource.onDisconnected(subscription::cancel);
+        }));
+    }
+
+    public Result deadLetters() {
+        ObjectNode result = Json.newObject();
+        result.put("pending", problemRetries.pending());
+        result.put("retried", problemRetries.retried());
+        result.put("deadLettered", problemRetries.deadLettered());
+        result.set("deadLetters", toJson(problemRetries.deadLetters()));
+        return ok(result);
+    }
+
+    public Result replay(Long id) {
+        final Optional<DeadLetter> replayed = problemRetries.replay(id);
+        if (!replayed.isPresent()) {
+            return notFound();
+        }
+        return ok(toJson(replayed.get()));
+    }
+
+    public Result replayAll() {
+        return ok(toJson(problemRetries.replayAll()));
+    }
+
+    private static ArrayNode toJson(List<DeadLetter> deadLetters) {
+        ArrayNode result = Json.newArray();
+        deadLetters.forEach(deadLetter -> result.add(toJson(deadLetter)));
+        return result;
+    }
+
+    private static ObjectNode toJson(SyncEvent event) {
+        ObjectNode result = Json.newObject();
+        result.put("eventId", event.eventId());
+        result.put("sequence", event.sequence());
+        result.put("type", event.type().name());
+        result.put("resource", event.resource());
+        result.put("id", event.id());
+        result.put("remoteId", event.remoteId());
+        result.put("timestamp", event.timestamp());
+        return result;
+    }
+
+    private static ObjectNode toJson(DeadLetter deadLetter) {
+        ObjectNode result = Json.newObject();
+        result.put("id", deadLetter.id());
+        result.put("type", deadLetter.problem().getClass().getSimpleName());
+        result.put("key", deadLetter.problem().key());
+        result.put("problem", deadLetter.problem().toString());
+        result.put("attempts", deadLetter.attempts());
+        result.put("lastError", deadLetter.lastError());
+        result.put("failedAt", deadLetter.failedAt());
+        return result;
+    }
+}
@@ -3,18 +3,34 @@ package controllers;
 import com.google.common.io.Files;
 import com.google.inject.Inject;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.typesafe.config.ConfigValue;
+import org.hibernate.Session;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import cloud.sync.ProblemRetries;
+import components.execution.ScheduleRegistry;
+import components.execution.ScheduleStatus;
 import controllers.security.SecuredSessionOrToken;
+import models.service.metrics.DatabaseMetrics;
 import play.Play;
+import play.db.jpa.JPA;
+import play.db.jpa.Transactional;
 import play.libs.Json;
 import play.mvc.Controller;
 import play.mvc.Result;
@@ -26,8 +42,19 @@ import play.mvc.Security;
 @Security.Authenticated(SecuredSessionOrToken.class) public class UtilityController
     extends Controller {
 
-    @Inject public UtilityController() {
+    /**
+     * The maximum number of queries listed by {@link #metrics()}, the ones with the highest
+     * total execution time.
+     */
+    private static final int MAX_QUERIES = 50;
 
+    private final ScheduleRegistry scheduleRegistry;
+    private final ProblemRetries problemRetries;
+
+    @Inject public UtilityController(ScheduleRegistry scheduleRegistry,
+        ProblemRetries problemRetries) {
+        this.scheduleRegistry = scheduleRegistry;
+        this.problemRetries = problemRetries;
     }
 
     public Result configuration() {
@@ -40,6 +67,130 @@ import play.mvc.Security;
         return ok(result);
     }
 
+    public Result schedules() {
+        return ok(schedulesJson());
+    }
+
+    @Transactional(readOnly = true) public Result cache() {
+        return ok(cacheJson(statistics()));
+    }
+
+    /**
+     * Collects the metrics of the connection pools, the queries, the entity loads, the
+     * caches, the schedules and the retries of the sync in one document.
+     */
+    @Transactional(readOnly = true) public Result metrics() {
+        final Statistics statistics = statistics();
+        ObjectNode result = Json.newObject();
+        ObjectNode connections = result.putObject("connections");
+        connections.set("pools", DatabaseMetrics.pools());
+        connections.set("acquire", DatabaseMetrics.connectionAcquire().toJson());
+        result.set("queries", queriesJson(statistics));
+        result.set("entities", entitiesJson(statistics));
+        result.set("cache", cacheJson(statistics));
+        result.set("schedules", schedulesJson());
+        result.putObject("sync").put("pending", problemRetries.pending())
+            .put("retried", problemRetries.retried())
+            .put("deadLettered", problemRetries.deadLettered());
+        return ok(result);
+    }
+
+    private static Statistics statistics() {
+        return JPA.em().unwrap(Session.class).getSessionFactory().getStatistics();
+    }
+
+    private ArrayNode schedulesJson() {
+        ArrayNode result = Json.newArray();
+        for (ScheduleStatus status : scheduleRegistry.statuses()) {
+            result.addObject().put("name", status.name())
+                .put("basePeriod", status.basePeriod())
+                .put("effectivePeriod", status.effectivePeriod())
+                .put("lastDuration", status.lastDuration()).put("lastRun", status.lastRun())
+                .put("unchangedRuns", status.unchangedRuns());
+        }
+        return result;
+    }
+
+    private static ObjectNode cacheJson(Statistics statistics) {
+        ObjectNode result = Json.newObject();
+        result.putObject("secondLevelCache").put("hits", statistics.getSecondLevelCacheHitCount())
+            .put("misses", statistics.getSecondLevelCacheMissCount())
+            .put("puts", statistics.getSecondLevelCachePutCount()).put("hitRatio",
+            hitRatio(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount()));
+        result.putObject("queryCache").put("hits", statistics.getQueryCacheHitCount())
+            .put("misses", statistics.getQueryCacheMissCount())
+            .put("puts", statistics.getQueryCachePutCount()).put("hitRatio",
+            hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        ArrayNode regions = result.putArray("regions");
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            final SecondLevelCacheStatistics regionStatistics =
+                statistics.getSecondLevelCacheStatistics(region);
+            regions.addObject().put("name", region).put("hits", regionStatistics.getHitCount())
+                .put("misses", regionStatistics.getMissCount())
+                .put("puts", regionStatistics.getPutCount())
+                .put("hitRatio",
+                    hitRatio(regionStatistics.getHitCount(), regionStatistics.getMissCount()))
+                .put("elementsInMemory", regionStatistics.getElementCountInMemory());
+        }
+        return result;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : hits / (double) (hits + misses);
+    }
+
+    /**
+     * @return the query counts and the latencies of the queries with the highest total
+     * execution time, keyed by their HQL.
+     */
+    private static ObjectNode queriesJson(Statistics statistics) {
+        ObjectNode result = Json.newObject();
+        result.put("executions", statistics.getQueryExecutionCount())
+            .put("maxMillis", statistics.getQueryExecutionMaxTime())
+            .put("slowest", statistics.getQueryExecutionMaxTimeQueryString())
+            .put("slow", DatabaseMetrics.slowQueries())
+            .put("statements", statistics.getPrepareStatementCount());
+        final List<String> queries = Arrays.stream(statistics.getQueries())
+            .sorted(Comparator.comparingLong((String query) -> {
+                final QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+                return queryStatistics.getExecutionCount() * queryStatistics
+                    .getExecutionAvgTime();
+            }).reversed()).limit(MAX_QUERIES).collect(Collectors.toList());
+        ArrayNode byQuery = result.putArray("byQuery");
+        for (String query : queries) {
+            final QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            byQuery.addObject().put("query", query)
+                .put("executions", queryStatistics.getExecutionCount())
+                .put("meanMillis", queryStatistics.getExecutionAvgTime())
+                .put("maxMillis", queryStatistics.getExecutionMaxTime())
+                .put("rows", queryStatistics.getExecutionRowCount());
+        }
+        return result;
+    }
+
+    /**
+     * @return the entity and collection counts, and the loads and fetches per entity.
+     */
+    private static ObjectNode entitiesJson(Statistics statistics) {
+        ObjectNode result = Json.newObject();
+        result.put("loads", statistics.getEntityLoadCount())
+            .put("fetches", statistics.getEntityFetchCount())
+            .put("inserts", statistics.getEntityInsertCount())
+            .put("updates", statistics.getEntityUpdateCount())
+            .put("deletes", statistics.getEntityDeleteCount())
+            .put("collectionLoads", statistics.getCollectionLoadCount())
+            .put("collectionFetches", statistics.getCollectionFetchCount());
+        ArrayNode byEntity = result.putArray("byEntity");
+        for (String entity : statistics.getEntityNames()) {
+            final EntityStatistics entityStatistics = statistics.getEntityStatistics(entity);
+            byEntity.addObject().put("name", entity)
+                .put("loads", entityStatistics.getLoadCount())
+                .put("fetches", entityStatistics.getFetchCount());
+        }
+        return result;
+    }
+
     public Result version() {
 
         Map<String, String> files = new HashMap<>(2);
@@ -25,11 +25,18 @@ import components.job.JobService;
 import controllers.generic.GenericApiController;
 import dtos.VirtualMachineDto;
 import dtos.conversion.ModelDtoConversionService;
+import models.Cloud;
+import models.CloudCredential;
 import models.Tenant;
 import models.VirtualMachine;
 import models.service.FrontendUserService;
 import models.service.ModelService;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Created by daniel on 09.04.15.
  */
@@ -60,8 +67,26 @@ public class VirtualMachineController extends
         this.jobService.newVirtualMachineJob(virtualMachine, getActiveTenant());
     }
 
+    @Override protected void postPostAll(List<VirtualMachine> virtualMachines) {
+        final Tenant tenant = getActiveTenant();
+        final Map<Cloud, CloudCredential> cloudCredentials = new HashMap<>();
+        for (VirtualMachine virtualMachine : virtualMachines) {
+            CloudCredential cloudCredential = cloudCredentials.computeIfAbsent(
+                virtualMachine.cloud(), cloud -> getCloudCredential(tenant, cloud));
+            virtualMachine.addCloudCredential(cloudCredential);
+            virtualMachine.bindOwner(cloudCredential);
+        }
+        this.virtualMachineModelService.saveAll(virtualMachines);
+        this.jobService.newVirtualMachineJobs(virtualMachines, tenant);
+    }
+
     @Override protected boolean preDelete(VirtualMachine entity) {
         this.jobService.newDeleteVirtualMachineJob(entity, getActiveTenant());
         return false;
     }
+
+    @Override protected List<VirtualMachine> preDeleteAll(List<VirtualMachine> entities) {
+        this.jobService.newDeleteVirtualMachineJobs(entities, getActiveTenant());
+        return Collections.emptyList();
+    }
 }
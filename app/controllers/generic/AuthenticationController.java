@@ -84,7 +84,10 @@ public class AuthenticationController extends Controller {
     }
 
     @Nullable protected CloudCredential getCloudCredential(Cloud cloud) {
-        Tenant tenant = getActiveTenant();
+        return getCloudCredential(getActiveTenant(), cloud);
+    }
+
+    @Nullable protected CloudCredential getCloudCredential(Tenant tenant, Cloud cloud) {
         for (CloudCredential cloudCredential : tenant.getCloudCredentials()) {
             if (cloudCredential.getCloud().equals(cloud)) {
                 return cloudCredential;
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers.generic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded pipe between a thread writing a response and the response pulling it.
+ * <p>
+ * The written bytes are cut into chunks of the given size. At most capacity chunks are
+ * buffered, further writes block until the response read a chunk, so a slow client slows
+ * down the writer instead of filling the memory. Closing the {@link #input()}, as done by
+ * the response when the client disconnects, fails all further writes with a {@link
+ * ClosedException}.
+ */
+class ChunkedPipe {
+
+    /**
+     * Marks the end of the stream in the queue.
+     */
+    private static final byte[] END = new byte[0];
+
+    /**
+     * How often a blocked writer checks if the pipe was closed, in milliseconds.
+     */
+    private static final long POLL_INTERVAL = 500;
+
+    private final BlockingQueue<byte[]> chunks;
+    private final Output output;
+    private final Input input;
+    private volatile boolean closed = false;
+
+    ChunkedPipe(int chunkSize, int capacity) {
+        checkArgument(chunkSize > 0, "chunkSize needs to be positive.");
+        checkArgument(capacity > 0, "capacity needs to be positive.");
+        this.chunks = new ArrayBlockingQueue<>(capacity);
+        this.output = new Output(chunkSize);
+        this.input = new Input();
+    }
+
+    /**
+     * @return the end written by the producer, closing it ends the response.
+     */
+    OutputStream output() {
+        return output;
+    }
+
+    /**
+     * @return the end read by the response, closing it cancels the producer.
+     */
+    InputStream input() {
+        return input;
+    }
+
+    /**
+     * @return true if the reading side closed the pipe, e.g. as the client disconnected.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        try {
+            while (!chunks.offer(chunk, POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new ClosedException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the client.");
+        }
+        if (closed) {
+            //the reader may have closed the pipe while the chunk was added
+            chunks.clear();
+            throw new ClosedException();
+        }
+    }
+
+    /**
+     * Thrown by writes after the reading side closed the pipe.
+     */
+    static class ClosedException extends IOException {
+
+        ClosedException() {
+            super("The pipe was closed by the reader.");
+        }
+    }
+
+    private class Output extends OutputStream {
+
+        private final int chunkSize;
+        private final ByteArrayOutputStream buffer;
+        private boolean ended = false;
+
+        private Output(int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.buffer = new ByteArrayOutputStream(chunkSize);
+        }
+
+        @Override public void write(int b) throws IOException {
+            buffer.write(b);
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override public void write(byte[] b, int off, int len) throws IOException {
+            buffer.write(b, off, len);
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override public void flush() throws IOException {
+            if (closed) {
+                throw new ClosedException();
+            }
+            if (buffer.size() > 0) {
+                put(buffer.toByteArray());
+                buffer.reset();
+            }
+        }
+
+        @Override public void close() throws IOException {
+            if (ended || closed) {
+                return;
+            }
+            ended = true;
+            flush();
+            put(END);
+        }
+    }
+
+    private class Input extends InputStream {
+
+        private byte[] chunk;
+        private int position;
+
+        @Override public int read() throws IOException {
+            final byte[] single = new byte[1];
+            final int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (chunk == null || position == chunk.length) {
+                if (chunk == END || closed) {
+                    return -1;
+                }
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for data.");
+                }
+                position = 0;
+                if (chunk == END) {
+                    return -1;
+                }
+            }
+            final int read = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, read);
+            position += read;
+            return read;
+        }
+
+        @Override public void close() {
+            closed = true;
+            chunks.clear();
+        }
+    }
+}
@@ -18,14 +18,33 @@
 
 package controllers.generic;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Primitives;
 import com.google.common.reflect.TypeToken;
+import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
+import de.uniulm.omi.cloudiator.common.FieldFinder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -35,16 +54,23 @@ import controllers.security.SecuredSessionOrToken;
 import dtos.api.Dto;
 import dtos.conversion.ModelDtoConversionService;
 import dtos.generic.LinkDecoratorDto;
+import dtos.generic.Links;
+import models.FrontendUser;
 import models.Tenant;
 import models.generic.Model;
+import models.service.AttributeQuery;
 import models.service.FrontendUserService;
 import models.service.IllegalSearchException;
 import models.service.ModelService;
+import models.service.ModelVersions;
+import models.service.Search;
 import play.Logger;
 import play.data.Form;
+import play.db.jpa.JPA;
 import play.db.jpa.Transactional;
 import play.libs.Json;
 import play.mvc.BodyParser;
+import play.mvc.Http;
 import play.mvc.Result;
 import play.mvc.Security;
 import util.logging.Loggers;
@@ -67,8 +93,40 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public abstract class GenericApiController<T extends Model, U extends Dto, V extends Dto, W extends Dto>
     extends AuthenticationController {
 
+    /**
+     * The maximum number of entities returned by a page of {@link #list()}.
+     */
+    protected static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * The maximum number of items accepted by a bulk operation.
+     */
+    protected static final int MAX_BULK_SIZE = 1000;
+
+    /**
+     * Status of a valid item of a rejected bulk operation.
+     */
+    private static final int FAILED_DEPENDENCY = 424;
+
+    private static final int STREAM_CHUNK_SIZE = 8192;
+
+    /**
+     * The number of chunks a stream buffers for a slow client, before the scroll blocks.
+     */
+    private static final int STREAM_BUFFERED_CHUNKS = 16;
+
+    private static final String LINK_FIELD = "link";
+
+    private static final String SEARCH_SORT = "sort";
+    private static final String SEARCH_LIMIT = "limit";
+
     private final Logger.ALogger LOGGER = Loggers.of(Loggers.API);
 
+    /**
+     * Injected into the field, so the constructors of the controllers do not need to pass it.
+     */
+    @Inject private StreamExecutor streamExecutor;
+
     private final ModelService<T> modelService;
     private final ModelDtoConversionService conversionService;
     private final Class<T> modelType;
@@ -128,10 +186,9 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
         }
     }
 
-    private List<T> searchEntity(String attribute, String value) throws IllegalSearchException {
-        checkNotNull(attribute);
-        checkNotNull(value);
-        List<T> ts = modelService.getByAttributeValue(attribute, value);
+    private List<T> searchEntity(Search search) throws IllegalSearchException {
+        checkNotNull(search);
+        List<T> ts = modelService.getBySearch(search);
         if (filter().isPresent()) {
             return ts.stream().filter(filter().get()).collect(Collectors.toList());
         }
@@ -167,13 +224,32 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
      * @return a list of all model entities.
      */
     private List<T> loadEntities() {
-        List<T> ts = modelService.getAll();
+        if (tenantScoped()) {
+            return modelService.getAllOfTenants(getUser().getTenants());
+        }
+        return filtered(modelService.getAll());
+    }
+
+    private List<T> filtered(List<T> ts) {
         if (filter().isPresent()) {
             return ts.stream().filter(filter().get()).collect(Collectors.toList());
         }
         return ts;
     }
 
+    /**
+     * Extension point restricting the listed entities to the tenants of the user within the
+     * database query, instead of loading all entities and applying the {@link #filter()}.
+     * <p>
+     * The filter still applies to single entities and searches and needs to be equivalent.
+     *
+     * @return true if the entities are listed using the tenant scoped queries of the model
+     * service.
+     */
+    protected boolean tenantScoped() {
+        return false;
+    }
+
     /**
      * Extension Point for a filter used when retrieving entities.
      *
@@ -198,6 +274,208 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
         return LinkDecoratorDto.decorate(dto, this.getSelfRoute(entity.getId()));
     }
 
+    /**
+     * Converts the entity and restricts its JSON representation to the requested fields.
+     *
+     * @param fields the requested fields, empty for all fields.
+     */
+    private JsonNode toJson(T entity, List<String> fields) {
+        final JsonNode json = Json.toJson(convertToDto(entity));
+        if (!fields.isEmpty() && json.isObject()) {
+            ((ObjectNode) json).retain(fields);
+        }
+        return json;
+    }
+
+    /**
+     * Parses the comma separated fields query parameter.
+     *
+     * @return the requested fields, empty if all fields are requested.
+     * @throws BadRequestException if a requested field is not a field of the DTO.
+     */
+    private List<String> requestedFields() throws BadRequestException {
+        final String fieldsParameter = request().getQueryString("fields");
+        if (fieldsParameter == null) {
+            return Collections.emptyList();
+        }
+        final List<String> fields =
+            Splitter.on(',').trimResults().omitEmptyStrings().splitToList(fieldsParameter);
+        for (String field : fields) {
+            if (!LINK_FIELD.equals(field) && !FieldFinder.of(getType).getField(field)
+                .isPresent()) {
+                throw new BadRequestException(String
+                    .format("%s is not a field of %s.", field, getType.getSimpleName()));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @return the search defined by the query string, see {@link #search()}.
+     * @throws BadRequestException if the query string holds an unknown operator or an
+     *                             invalid limit.
+     */
+    private Search requestedSearch() throws BadRequestException {
+        final Search.Builder search = Search.newBuilder();
+        for (Map.Entry<String, String[]> parameter : request().queryString().entrySet()) {
+            final String name = parameter.getKey();
+            if (SEARCH_SORT.equals(name) || SEARCH_LIMIT.equals(name)) {
+                continue;
+            }
+            final int separator = name.lastIndexOf('.');
+            final String attribute = separator < 0 ? name : name.substring(0, separator);
+            final Search.Operator operator = separator < 0 ?
+                Search.Operator.EQ :
+                Search.Operator.of(name.substring(separator + 1)).orElseThrow(
+                    () -> new BadRequestException(
+                        String.format("%s has an unknown operator.", name)));
+            for (String value : parameter.getValue()) {
+                search.where(attribute, operator, value);
+            }
+        }
+        final String sortParameter = request().getQueryString(SEARCH_SORT);
+        if (sortParameter != null) {
+            for (String sort : Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(sortParameter)) {
+                if (sort.startsWith("-")) {
+                    search.orderBy(sort.substring(1), false);
+                } else {
+                    search.orderBy(sort, true);
+                }
+            }
+        }
+        final String limitParameter = request().getQueryString(SEARCH_LIMIT);
+        if (limitParameter != null) {
+            try {
+                final int limit = Integer.parseInt(limitParameter);
+                if (limit <= 0) {
+                    throw new BadRequestException("limit needs to be positive.");
+                }
+                search.limit(Math.min(limit, MAX_PAGE_SIZE));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("limit needs to be a number.");
+            }
+        }
+        return search.build();
+    }
+
+    /**
+     * Creates a query selecting only the requested fields from the database, if all of them
+     * are taken from the model field with the same name and type (or the id of the referenced
+     * model), see {@link dtos.conversion.DefaultFieldConverter}.
+     *
+     * @param fields the requested fields.
+     * @return the query selecting the model fields of the requested fields (the link being
+     * replaced by the id), empty if the fields can not be selected.
+     */
+    private Optional<AttributeQuery> projection(List<String> fields) {
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        final List<String> attributes = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            if (LINK_FIELD.equals(field)) {
+                attributes.add("id");
+                continue;
+            }
+            final Optional<Field> dtoField = FieldFinder.of(getType).getField(field);
+            final Optional<Field> modelField = FieldFinder.of(modelType).getField(field);
+            if (!dtoField.isPresent() || !modelField.isPresent()) {
+                return Optional.empty();
+            }
+            final Class<?> dtoFieldType = Primitives.wrap(dtoField.get().getType());
+            final Class<?> modelFieldType = Primitives.wrap(modelField.get().getType());
+            final boolean compatible = Model.class.isAssignableFrom(modelFieldType) ?
+                Long.class.equals(dtoFieldType) :
+                dtoFieldType.equals(modelFieldType);
+            if (!compatible) {
+                return Optional.empty();
+            }
+            attributes.add(field);
+        }
+        return modelService.selectAttributes(attributes);
+    }
+
+    /**
+     * Builds the JSON representations of the rows of a {@link #projection(List)}.
+     */
+    private List<JsonNode> toJson(List<Object[]> rows, List<String> fields) {
+        final List<JsonNode> nodes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            final ObjectNode node = Json.newObject();
+            for (int i = 0; i < fields.size(); i++) {
+                final String field = fields.get(i);
+                if (LINK_FIELD.equals(field)) {
+                    node.set(field, Json.toJson(Links.fromSelfLink(getSelfRoute((Long) row[i]))));
+                } else if (row[i] == null) {
+                    node.putNull(field);
+                } else {
+                    node.set(field, Json.toJson(row[i]));
+                }
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Computes the entity tag of the representation requested by the current request.
+     * <p>
+     * The tag is derived from the {@link ModelVersions} of the model type and of the
+     * tenants and users it is scoped to, the authenticated user and the request uri
+     * including the query, so computing it requires no database access. Any committed change
+     * to an entity of the type changes the tag of all its representations.
+     * <p>
+     * The versions advance when the primary commits, so a representation read from a lagging
+     * replica could be served under the tag of a newer state. Responses carrying the tag are
+     * therefore read from the primary, see {@link OnPrimary}.
+     *
+     * @param uri the uri of the representation.
+     * @return the quoted entity tag.
+     */
+    private String eTag(String uri) {
+        final String state = String
+            .format("%s:%s:%s:%s:%s:%s", ModelVersions.epoch(), ModelVersions.of(modelType),
+                ModelVersions.of(Tenant.class), ModelVersions.of(FrontendUser.class),
+                request().username(), uri);
+        return '"' + Hashing.murmur3_128().hashString(state, StandardCharsets.UTF_8).toString()
+            + '"';
+    }
+
+    /**
+     * Checks if the header (If-Match or If-None-Match) matches the entity tag.
+     * <p>
+     * Weak tags are compared weakly, as done for If-None-Match.
+     *
+     * @return true if the header lists the tag or is *, false if not or if it is missing.
+     */
+    private boolean matches(String header, String eTag) {
+        final String value = request().getHeader(header);
+        if (value == null) {
+            return false;
+        }
+        for (String candidate : Splitter.on(',').trimResults().omitEmptyStrings()
+            .split(value)) {
+            if ("*".equals(candidate) || eTag
+                .equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the entity tag of the current request on the response.
+     *
+     * @return true if the client already holds the representation (If-None-Match matches),
+     * so a 304 NOT MODIFIED can be returned without loading anything.
+     */
+    private boolean notModified() {
+        final String eTag = eTag(request().uri());
+        response().setHeader(ETAG, eTag);
+        return matches(IF_NONE_MATCH, eTag);
+    }
+
     /**
      * Helper for generating the not found message.
      *
@@ -216,14 +494,197 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
      * Retrieves the models using the model service,
      * converts them to DTOs and returns their json
      * representation.
+     * <p>
+     * If the limit or after query parameter is given, only a page of
+     * at most limit (capped at {@link #MAX_PAGE_SIZE}) models with an id
+     * greater than after is returned, ordered by id. If there may be
+     * further models, the Link header holds the next page.
+     * <p>
+     * If the stream query parameter is true, all models are streamed
+     * instead, see {@link #stream(List)}.
+     * <p>
+     * If the fields query parameter is given, only the comma separated
+     * fields of the DTOs (and the link) are returned. Where possible only
+     * these fields are selected from the database, see {@link #projection(List)}.
+     * <p>
+     * The response carries an ETag, if it matches the If-None-Match header
+     * a 304 NOT MODIFIED is returned instead. As the tag may not be older than
+     * the representation, the models are read from the primary. Streamed
+     * responses carry no ETag and are read from the replica.
      *
      * @return A json representation of all entities.
      */
-    @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class) public Result list() {
+    @OnPrimary @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class)
+    public Result list() {
+        final List<String> fields;
+        try {
+            fields = requestedFields();
+        } catch (BadRequestException e) {
+            return badRequest(e.getMessage());
+        }
+
+        if ("true".equals(request().getQueryString("stream"))) {
+            return stream(fields);
+        }
+
+        if (notModified()) {
+            return status(NOT_MODIFIED);
+        }
+
+        final String limitParameter = request().getQueryString("limit");
+        final String afterParameter = request().getQueryString("after");
+        if (limitParameter != null || afterParameter != null) {
+            return page(limitParameter, afterParameter, fields);
+        }
+
+        final Optional<AttributeQuery> projection = projectionOfUser(fields);
+        if (projection.isPresent()) {
+            return ok(Json.toJson(toJson(projection.get().list(), fields)));
+        }
+
         List<T> entities = this.loadEntities();
-        List<Dto> dtos = new ArrayList<>(entities.size());
-        dtos.addAll(entities.stream().map(this::convertToDto).collect(Collectors.toList()));
-        return ok(Json.toJson(dtos));
+        return ok(Json.toJson(
+            entities.stream().map(entity -> toJson(entity, fields)).collect(Collectors.toList())));
+    }
+
+    /**
+     * A {@link #projection(List)} restricted to the entities of the user, empty if the
+     * entities are restricted by a {@link #filter()} that is not tenant scoped.
+     */
+    private Optional<AttributeQuery> projectionOfUser(List<String> fields) {
+        if (filter().isPresent() && !tenantScoped()) {
+            return Optional.empty();
+        }
+        final Optional<AttributeQuery> projection = projection(fields);
+        if (projection.isPresent() && tenantScoped()) {
+            projection.get().ofTenants(getUser().getTenants());
+        }
+        return projection;
+    }
+
+    /**
+     * Streams all entities as a chunked JSON array.
+     * <p>
+     * The entities are scrolled in a separate read only transaction on the {@link
+     * StreamExecutor}. Every entity is converted and written to the JSON generator on its own
+     * and the persistence context is cleared periodically, so neither the entities, the DTOs
+     * nor the JSON tree of the whole result are held in memory. The response pulls the JSON
+     * from a {@link ChunkedPipe}, which blocks the scroll while the client is slower than the
+     * database and stops it once the client disconnected. As the status is already sent, an
+     * error truncates the response.
+     */
+    private Result stream(List<String> fields) {
+        final Http.Context context = ctx();
+        final boolean tenantScoped = tenantScoped();
+        final List<Tenant> tenants =
+            tenantScoped ? ImmutableList.copyOf(getUser().getTenants()) : null;
+        final Optional<Predicate<T>> filter = tenantScoped ? Optional.empty() : filter();
+
+        final ChunkedPipe pipe = new ChunkedPipe(STREAM_CHUNK_SIZE, STREAM_BUFFERED_CHUNKS);
+        streamExecutor.execute(() -> {
+            Http.Context.current.set(context);
+            try {
+                JPA.withTransaction("default", true, () -> {
+                    writeEntities(pipe.output(), tenants, filter, fields);
+                    return null;
+                });
+            } catch (Throwable t) {
+                if (pipe.isClosed()) {
+                    LOGGER.debug(String
+                        .format("Client disconnected, stopped streaming %s.",
+                            modelType.getSimpleName()));
+                } else {
+                    LOGGER.error(String
+                        .format("Streaming %s failed, response is truncated.",
+                            modelType.getSimpleName()), t);
+                }
+            } finally {
+                Http.Context.current.remove();
+                try {
+                    pipe.output().close();
+                } catch (IOException e) {
+                    LOGGER.debug(String
+                        .format("Could not end the stream of %s.", modelType.getSimpleName()),
+                        e);
+                }
+            }
+        });
+        return ok(pipe.input(), STREAM_CHUNK_SIZE).as("application/json; charset=utf-8");
+    }
+
+    private void writeEntities(OutputStream stream, @Nullable List<Tenant> tenants,
+        Optional<Predicate<T>> filter, List<String> fields) throws IOException {
+        try (JsonGenerator generator = Json.mapper().getFactory().createGenerator(stream)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            final Consumer<T> writer = entity -> {
+                if (filter.isPresent() && !filter.get().test(entity)) {
+                    return;
+                }
+                try {
+                    generator.writeTree(toJson(entity, fields));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            if (tenants != null) {
+                modelService.forEachOfTenants(tenants, writer);
+            } else {
+                modelService.forEach(writer);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private Result page(@Nullable String limitParameter, @Nullable String afterParameter,
+        List<String> fields) {
+        final int limit;
+        final Long after;
+        try {
+            limit = limitParameter == null ?
+                MAX_PAGE_SIZE :
+                Math.min(Integer.parseInt(limitParameter), MAX_PAGE_SIZE);
+            after = afterParameter == null ? null : Long.valueOf(afterParameter);
+        } catch (NumberFormatException e) {
+            return badRequest("limit and after need to be numbers.");
+        }
+        if (limit <= 0) {
+            return badRequest("limit needs to be positive.");
+        }
+
+        final Optional<AttributeQuery> projection = projectionOfUser(fields);
+        if (projection.isPresent()) {
+            //the link is always selected as the id, so the id is at the index of the link
+            final int idIndex = fields.indexOf(LINK_FIELD);
+            if (idIndex >= 0) {
+                if (after != null) {
+                    projection.get().after(after);
+                }
+                final List<Object[]> rows = projection.get().limit(limit).list();
+                if (rows.size() == limit) {
+                    setNextLink(limit, (Long) rows.get(rows.size() - 1)[idIndex], fields);
+                }
+                return ok(Json.toJson(toJson(rows, fields)));
+            }
+        }
+
+        final List<T> page = tenantScoped() ?
+            modelService.getPageOfTenants(getUser().getTenants(), after, limit) :
+            modelService.getPage(after, limit);
+        if (page.size() == limit) {
+            //the cursor is taken before filtering, so filtered pages may be smaller than limit
+            setNextLink(limit, page.get(page.size() - 1).getId(), fields);
+        }
+
+        final List<T> entities = tenantScoped() ? page : filtered(page);
+        return ok(Json.toJson(
+            entities.stream().map(entity -> toJson(entity, fields)).collect(Collectors.toList())));
+    }
+
+    private void setNextLink(int limit, Long after, List<String> fields) {
+        response().setHeader("Link", String
+            .format("<%s?limit=%s&after=%s%s>; rel=\"next\"", request().path(), limit, after,
+                fields.isEmpty() ? "" : "&fields=" + Joiner.on(',').join(fields)));
     }
 
     /**
@@ -235,38 +696,67 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
      * <p>
      * If the entity is not found, a 404 NOT FOUND is instead
      * returned.
+     * <p>
+     * The fields query parameter restricts the returned fields and conditional
+     * requests are supported, see {@link #list()}.
      *
      * @param id the id of the entity.
      * @return A JSON representation of the requested entity. 404 if
      * entity does not exist.
      */
-    @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class) public Result get(
-        final Long id) {
+    @OnPrimary @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class)
+    public Result get(final Long id) {
+        if (notModified()) {
+            return status(NOT_MODIFIED);
+        }
+        return read(id);
+    }
+
+    private Result read(final Long id) {
+        final List<String> fields;
+        try {
+            fields = requestedFields();
+        } catch (BadRequestException e) {
+            return badRequest(e.getMessage());
+        }
+
+        final Optional<AttributeQuery> projection = projectionOfUser(fields);
+        if (projection.isPresent()) {
+            final List<Object[]> rows = projection.get().withId(id).list();
+            if (rows.isEmpty()) {
+                return this.notFound(id);
+            }
+            return ok(toJson(rows, fields).get(0));
+        }
+
         final T entity = this.loadEntity(id);
 
         if (entity == null) {
             return this.notFound(id);
         }
 
-        return ok(Json.toJson(this.convertToDto(entity)));
+        return ok(toJson(entity, fields));
     }
 
     /**
      * Returns a list of entities matching the search criteria.
      * <p>
-     * Retrieves all entities where the attribute defined matches
-     * the value defined.
+     * Every query parameter attribute=value or attribute.operator=value adds a criterion,
+     * all criteria need to match. The operators are eq (the default), lt, lte, gt, gte and
+     * prefix. Attributes referencing another entity are compared by its id. The parameter
+     * sort orders the result by a comma separated list of attributes, descending if
+     * prefixed with -, the parameter limit limits the number of results.
      *
-     * @param attribute the attribute
-     * @param value     the value for the attribute
-     * @return A JSON representation if the matching entities.N
+     * @return A JSON representation if the matching entities.
      */
-    @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class) public Result search(
-        final String attribute, final String value) {
+    @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class)
+    public Result search() {
 
         final List<T> entities;
         try {
-            entities = this.searchEntity(attribute, value);
+            entities = this.searchEntity(requestedSearch());
+        } catch (BadRequestException e) {
+            return badRequest(e.getMessage());
         } catch (IllegalSearchException e) {
             return badRequest(e.getMessage());
         }
@@ -316,7 +806,7 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
 
         postPost(entity);
 
-        return get(entity.getId());
+        return read(entity.getId());
     }
 
     /**
@@ -332,12 +822,20 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
      * If the entity contains errors, a 400 BAD REQUEST is returned with
      * detailed validation errors in JSON format.
      * If the request is invalid JSON, a 400 BAD REQUEST is returned.
+     * <p>
+     * If the If-Match header is given and does not match the ETag of the
+     * entity returned by {@link #get(Long)}, a 412 PRECONDITION FAILED is
+     * returned.
      *
      * @param id the id of the resource which should be changed.
      * @return OK, if the entity was successfully stored in the service.
      * Otherwise 400. Will return the updated entity {@link #get(Long)}.
      */
     @Transactional @BodyParser.Of(BodyParser.Json.class) public Result put(final Long id) {
+        if (request().getHeader(IF_MATCH) != null && !matches(IF_MATCH,
+            eTag(request().path()))) {
+            return status(PRECONDITION_FAILED);
+        }
 
         T entity = this.loadEntity(id);
 
@@ -363,7 +861,7 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
 
         postPut(entity);
 
-        return get(id);
+        return read(id);
     }
 
     /**
@@ -393,6 +891,228 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
         return ok();
     }
 
+    /**
+     * Creates all entities of the given JSON array in a single transaction.
+     * <p>
+     * All items are validated (including {@link #prePost(Dto)}) before anything is stored.
+     * If any item is invalid, nothing is stored and a 400 BAD REQUEST is returned holding a
+     * result per item: the errors of the invalid items, the valid items with status 424.
+     * Otherwise the entities are stored with a single flush, so the inserts are batched,
+     * and the result of every item holds the link of the created entity.
+     *
+     * @return the results of the items, in the order of the items.
+     */
+    @Transactional @BodyParser.Of(BodyParser.Json.class) public Result postAll() {
+        final Optional<JsonNode> items = bulkItems();
+        if (!items.isPresent()) {
+            return badRequest(String
+                .format("Expected a JSON array of at most %s items.", MAX_BULK_SIZE));
+        }
+
+        final BulkResults results = new BulkResults();
+        final List<V> postDtos = new ArrayList<>(items.get().size());
+        for (JsonNode item : items.get()) {
+            final Form<V> filledForm = postForm.bind(item);
+            if (filledForm.hasErrors()) {
+                results.invalid(filledForm.errorsAsJson());
+                continue;
+            }
+            final V postDto = filledForm.get();
+            try {
+                prePost(postDto);
+            } catch (BadRequestException e) {
+                results.invalid(Json.toJson(e.getMessage()));
+                continue;
+            }
+            results.valid();
+            postDtos.add(postDto);
+        }
+        if (results.hasInvalid()) {
+            return badRequest(results.toJson());
+        }
+
+        final List<T> entities = postDtos.stream()
+            .map(postDto -> this.conversionService.toModel(postDto, this.getInstance()))
+            .collect(Collectors.toList());
+        this.modelService.saveAll(entities);
+        postPostAll(entities);
+
+        return ok(results.toJson(entities));
+    }
+
+    /**
+     * Updates all entities of the given JSON array in a single transaction.
+     * <p>
+     * Every item holds the id of the entity next to the fields of the put DTO. Validation
+     * and the result work like {@link #postAll()}, unknown ids are reported with status 404.
+     *
+     * @return the results of the items, in the order of the items.
+     */
+    @Transactional @BodyParser.Of(BodyParser.Json.class) public Result putAll() {
+        final Optional<JsonNode> items = bulkItems();
+        if (!items.isPresent()) {
+            return badRequest(String
+                .format("Expected a JSON array of at most %s items.", MAX_BULK_SIZE));
+        }
+
+        final BulkResults results = new BulkResults();
+        final List<T> entities = new ArrayList<>(items.get().size());
+        final List<W> putDtos = new ArrayList<>(items.get().size());
+        for (JsonNode item : items.get()) {
+            if (!item.isObject() || !item.path("id").canConvertToLong()) {
+                results.invalid(Json.toJson("Expected an object with an id."));
+                continue;
+            }
+            final T entity = this.loadEntity(item.get("id").asLong());
+            if (entity == null) {
+                results.notFound();
+                continue;
+            }
+            final ObjectNode fields = ((ObjectNode) item).deepCopy();
+            fields.remove("id");
+            final Form<W> filledForm = putForm.bind(fields);
+            if (filledForm.hasErrors()) {
+                results.invalid(filledForm.errorsAsJson());
+                continue;
+            }
+            final W putDto = filledForm.get();
+            try {
+                prePut(putDto, entity);
+            } catch (BadRequestException e) {
+                results.invalid(Json.toJson(e.getMessage()));
+                continue;
+            }
+            results.valid();
+            entities.add(entity);
+            putDtos.add(putDto);
+        }
+        if (results.hasInvalid()) {
+            return badRequest(results.toJson());
+        }
+
+        final List<T> updated = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            updated.add(this.conversionService.toModel(putDtos.get(i), entities.get(i)));
+        }
+        this.modelService.saveAll(updated);
+        for (T entity : updated) {
+            postPut(entity);
+        }
+
+        return ok(results.toJson(updated));
+    }
+
+    /**
+     * Deletes all entities whose ids are given as JSON array in a single transaction.
+     * <p>
+     * If any id is unknown, nothing is deleted and the unknown ids are reported with status
+     * 404, see {@link #postAll()}.
+     *
+     * @return the results of the items, in the order of the items.
+     */
+    @Transactional @BodyParser.Of(BodyParser.Json.class) public Result deleteAll() {
+        final Optional<JsonNode> items = bulkItems();
+        if (!items.isPresent()) {
+            return badRequest(String
+                .format("Expected a JSON array of at most %s ids.", MAX_BULK_SIZE));
+        }
+
+        final BulkResults results = new BulkResults();
+        final List<T> entities = new ArrayList<>(items.get().size());
+        for (JsonNode item : items.get()) {
+            if (!item.canConvertToLong()) {
+                results.invalid(Json.toJson("Expected an id."));
+                continue;
+            }
+            final T entity = this.loadEntity(item.asLong());
+            if (entity == null) {
+                results.notFound();
+                continue;
+            }
+            results.valid();
+            entities.add(entity);
+        }
+        if (results.hasInvalid()) {
+            return badRequest(results.toJson());
+        }
+
+        for (T entity : preDeleteAll(entities)) {
+            this.modelService.delete(entity);
+            postDelete();
+        }
+
+        return ok(results.toJson());
+    }
+
+    /**
+     * @return the items of the JSON array in the request body, empty if the body is no array
+     * or holds more than {@link #MAX_BULK_SIZE} items.
+     */
+    private Optional<JsonNode> bulkItems() {
+        final JsonNode body = request().body().asJson();
+        if (body == null || !body.isArray() || body.size() > MAX_BULK_SIZE) {
+            return Optional.empty();
+        }
+        return Optional.of(body);
+    }
+
+    /**
+     * The per item results of a bulk operation.
+     */
+    private class BulkResults {
+
+        private final ArrayNode items = Json.newArray();
+        private boolean invalid = false;
+
+        private ObjectNode add(int status) {
+            final int index = items.size();
+            return items.addObject().put("index", index).put("status", status);
+        }
+
+        private void valid() {
+            add(OK);
+        }
+
+        private void invalid(JsonNode errors) {
+            add(BAD_REQUEST).set("errors", errors);
+            invalid = true;
+        }
+
+        private void notFound() {
+            add(NOT_FOUND);
+            invalid = true;
+        }
+
+        private boolean hasInvalid() {
+            return invalid;
+        }
+
+        /**
+         * @return the results, the valid items marked as failed if any item is invalid.
+         */
+        private ArrayNode toJson() {
+            if (invalid) {
+                for (JsonNode item : items) {
+                    if (item.get("status").asInt() == OK) {
+                        ((ObjectNode) item).put("status", FAILED_DEPENDENCY);
+                    }
+                }
+            }
+            return items;
+        }
+
+        /**
+         * @return the results linking the entities, given in the order of the items.
+         */
+        private ArrayNode toJson(List<T> entities) {
+            for (int i = 0; i < entities.size(); i++) {
+                ((ObjectNode) items.get(i)).set("link",
+                    Json.toJson(Links.fromSelfLink(getSelfRoute(entities.get(i).getId()))));
+            }
+            return toJson();
+        }
+    }
+
     /**
      * PrePost extension point. Allows modification of the dto before it is
      * converted into an entity.
@@ -415,6 +1135,20 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
         // intentionally left empty
     }
 
+    /**
+     * PostPost extension point of {@link #postAll()}, called once with all created entities.
+     * <p>
+     * Calls {@link #postPost(Model)} for every entity, controllers doing per entity work
+     * like saving or submitting jobs should override it to do the work once per batch.
+     *
+     * @param entities the entities after the post operation.
+     */
+    protected void postPostAll(List<T> entities) {
+        for (T entity : entities) {
+            postPost(entity);
+        }
+    }
+
     /**
      * PrePut extension point. Allows modification of the dto as well as the entity
      * before the dto is bound to the entity.
@@ -450,6 +1184,18 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
         return true;
     }
 
+    /**
+     * PreDelete extension point of {@link #deleteAll()}, called once with all entities.
+     * <p>
+     * Calls {@link #preDelete(Model)} for every entity, see {@link #postPostAll(List)}.
+     *
+     * @param entities the entities to be deleted.
+     * @return the entities whose delete operation should continue.
+     */
+    protected List<T> preDeleteAll(List<T> entities) {
+        return entities.stream().filter(this::preDelete).collect(Collectors.toList());
+    }
+
     /**
      * PostDelete extension point. Allows actions to be executed after the delete operation.
      * <p>
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers.generic;
+
+import models.service.replica.ReplicaRouting;
+import play.libs.F;
+import play.mvc.Action;
+import play.mvc.Http;
+import play.mvc.Result;
+
+/**
+ * Action of {@link OnPrimary}.
+ */
+public class OnPrimaryAction extends Action<OnPrimary> {
+
+    @Override public F.Promise<Result> call(Http.Context ctx) throws Throwable {
+        return ReplicaRouting.onPrimary(() -> delegate.call(ctx));
+    }
+}
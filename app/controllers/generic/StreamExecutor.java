@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers.generic;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import play.Configuration;
+import play.inject.ApplicationLifecycle;
+import play.libs.F;
+import util.ConfigurationConstants;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The pool running the blocking database scrolls of streamed responses.
+ * <p>
+ * The scrolls block on the database and on slow clients, so they do not run on the default
+ * dispatcher. The size of the pool limits the number of concurrent streams holding a
+ * connection, further streams wait for a thread.
+ */
+@Singleton public class StreamExecutor {
+
+    private final ExecutorService executorService;
+
+    @Inject public StreamExecutor(Configuration configuration,
+        ApplicationLifecycle lifecycle) {
+        checkNotNull(configuration, "configuration is null.");
+        checkNotNull(lifecycle, "lifecycle is null.");
+        final int threads = configuration.getInt(ConfigurationConstants.API_STREAM_THREADS, 4);
+        checkArgument(threads > 0, "threads needs to be positive.");
+        this.executorService = Executors.newFixedThreadPool(threads,
+            new ThreadFactoryBuilder().setNameFormat("ApiStream-%d").build());
+        lifecycle.addStopHook(() -> {
+            executorService.shutdownNow();
+            return F.Promise.pure(null);
+        });
+    }
+
+    public void execute(Runnable runnable) {
+        executorService.execute(runnable);
+    }
+}
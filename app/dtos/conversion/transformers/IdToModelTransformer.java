@@ -18,6 +18,11 @@
 
 package dtos.conversion.transformers;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import javax.annotation.Nullable;
 
 import models.generic.Model;
@@ -41,6 +46,19 @@ public class IdToModelTransformer<T extends Model> implements Transformer<Long,
         return modelService.getById(id);
     }
 
+    /**
+     * Resolves all ids with a single batched lookup instead of one lookup per id.
+     *
+     * @param ids the ids, may contain null.
+     * @return the models in the order of the ids, null for null or unknown ids.
+     */
+    public List<T> transformAll(List<Long> ids) {
+        final Map<Long, T> models = modelService.getByIds(ids).stream()
+            .collect(Collectors.toMap(Model::getId, Function.identity()));
+        return ids.stream().map(id -> id == null ? null : models.get(id))
+            .collect(Collectors.toList());
+    }
+
     @Override public Long transformReverse(@Nullable T t) {
         if (t == null) {
             return null;
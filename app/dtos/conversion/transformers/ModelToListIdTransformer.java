@@ -39,11 +39,7 @@ public class ModelToListIdTransformer<T extends Model> implements Transformer<Li
             return new ArrayList<>();
         }
 
-        List<T> list = new ArrayList<>(longs.size());
-        for (Long id : longs) {
-            list.add(idToModelTransformer.transform(id));
-        }
-        return list;
+        return idToModelTransformer.transformAll(longs);
     }
 
     @Override public List<Long> transformReverse(List<T> ts) {
@@ -20,11 +20,14 @@ package models;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
 import models.generic.Model;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -32,10 +35,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 31.10.14.
  */
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity public class Api extends Model {
 
     @Column(nullable = false) private String internalProviderName;
     @Column(unique = true, nullable = false) private String name;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "api") private List<Cloud> clouds;
 
     /**
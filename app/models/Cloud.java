@@ -20,12 +20,15 @@ package models;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -39,6 +42,7 @@ import models.generic.RemoteResourceInCloud;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity public class Cloud extends Model implements CloudPropertyProvider {
 
     @Column(unique = true, nullable = false, updatable = false) private String name;
@@ -48,6 +52,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
         remoteResources;
     @OneToMany(mappedBy = "cloud", cascade = CascadeType.REMOVE)
     private List<VirtualMachineTemplate> virtualMachineTemplates;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "cloud", cascade = CascadeType.REMOVE) private List<CloudCredential>
         cloudCredentials;
     @OneToMany(mappedBy = "cloud", cascade = CascadeType.REMOVE) private List<CloudProperty>
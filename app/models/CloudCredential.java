@@ -19,11 +19,15 @@
 package models;
 
 import com.google.common.collect.ImmutableList;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
@@ -39,7 +43,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * @todo somehow validate this constraint, only have one credential per cloud and frontend group (or find a better relational schema)
  */
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"cloud_id", "tenant_id"})) @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"cloud_id", "tenant_id"}),
+    indexes = @Index(columnList = "tenant_id")) @Entity
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class CloudCredential extends Model {
 
     @Column(nullable = false) private String user;
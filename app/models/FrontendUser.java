@@ -22,7 +22,10 @@ import com.google.common.base.MoreObjects;
 import de.uniulm.omi.cloudiator.common.Password;
 import models.generic.Model;
 import org.apache.commons.codec.binary.Base64;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
@@ -37,6 +40,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * @author Daniel Baur
  */
 @Entity
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class FrontendUser extends Model {
 
     @Column(nullable = false)
@@ -57,6 +61,7 @@ public class FrontendUser extends Model {
     @OneToMany(mappedBy = "frontendUser")
     private List<ApiAccessToken> tokens;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(mappedBy = "frontendUsers")
     private List<Tenant> tenants;
 
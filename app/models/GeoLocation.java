@@ -20,14 +20,18 @@ package models;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
 import models.generic.Model;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * @todo we should probably normalize this table?
  */
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity public class GeoLocation extends Model {
 
     private String region;
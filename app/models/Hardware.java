@@ -20,6 +20,7 @@ package models;
 
 import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -29,19 +30,20 @@ import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 
+import models.generic.ReadMostly;
 import models.generic.RemoteResourceInLocation;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-@Entity public class Hardware extends RemoteResourceInLocation {
+@Entity @ReadMostly public class Hardware extends RemoteResourceInLocation {
 
     @Column(updatable = false, nullable = false) private String name;
 
     @ManyToOne(optional = false) private HardwareOffer hardwareOffer;
 
     @OneToMany(mappedBy = "hardware", cascade = CascadeType.REMOVE)
-    private List<VirtualMachineTemplate> virtualMachineTemplates;
+    private List<VirtualMachineTemplate> virtualMachineTemplates = new ArrayList<>();
 
     /**
      * Empty constructor for hibernate.
@@ -21,15 +21,27 @@ package models;
 import java.util.List;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
 
 import models.generic.Model;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
-@Entity public class HardwareOffer extends Model {
+/**
+ * An offer is unique with respect to its properties, enforced by a unique index on the
+ * {@link #key(Integer, Long, Float)} created by the schema migrations, as MySQL does not
+ * enforce uniqueness of rows with a null disk space.
+ */
+@Table(indexes = {@Index(columnList = "numberOfCores,mbOfRam")}) @Entity
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class HardwareOffer extends Model {
 
     @Column(nullable = false, updatable = false) private Integer numberOfCores;
 
@@ -37,6 +49,8 @@ import models.generic.Model;
 
     @Nullable private Float localDiskSpace;
 
+    @Column(nullable = false, updatable = false) private String offerKey;
+
     @OneToMany(mappedBy = "hardwareOffer", cascade = CascadeType.REMOVE) private List<Hardware>
         hardware;
 
@@ -47,6 +61,22 @@ import models.generic.Model;
         this.numberOfCores = numberOfCores;
         this.mbOfRam = mbOfRam;
         this.localDiskSpace = localDiskSpace;
+        this.offerKey = key(numberOfCores, mbOfRam, localDiskSpace);
+    }
+
+    /**
+     * Joins the properties of an offer to a non null key.
+     *
+     * @param numberOfCores  the number of cores.
+     * @param mbOfRam        the ram in megabytes.
+     * @param localDiskSpace the disk space in gigabytes, may be null.
+     * @return the key of the offer.
+     */
+    public static String key(Integer numberOfCores, Long mbOfRam,
+        @Nullable Float localDiskSpace) {
+        return numberOfCores + ":" + mbOfRam + ":" + (localDiskSpace == null ?
+            "-" :
+            localDiskSpace.toString());
     }
 
     public Integer getNumberOfCores() {
@@ -21,17 +21,20 @@ package models;
 import com.google.common.collect.ImmutableList;
 import de.uniulm.omi.cloudiator.common.os.LoginNameSupplier;
 import de.uniulm.omi.cloudiator.lance.lca.container.ContainerType;
+import models.generic.ReadMostly;
 import models.generic.RemoteResourceInLocation;
 
 import javax.annotation.Nullable;
 import javax.persistence.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-@Entity public class Image extends RemoteResourceInLocation implements LoginNameSupplier {
+@Entity @ReadMostly public class Image extends RemoteResourceInLocation
+    implements LoginNameSupplier {
 
     /**
      * Own attributes
@@ -49,7 +52,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
      * Foreign relations
      */
     @OneToMany(mappedBy = "image", cascade = CascadeType.REMOVE)
-    private List<VirtualMachineTemplate> virtualMachineTemplates;
+    private List<VirtualMachineTemplate> virtualMachineTemplates = new ArrayList<>();
 
     /**
      * Empty constructor for hibernate.
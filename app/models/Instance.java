@@ -22,7 +22,9 @@ import models.generic.RemoteResource;
 
 import javax.annotation.Nullable;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,7 +36,8 @@ import static com.google.common.base.Preconditions.checkState;
 /**
  * Created by daniel on 12.12.14.
  */
-@Entity public class Instance extends RemoteResource {
+@Table(indexes = @Index(columnList = "tenant_id")) @Entity public class Instance
+    extends RemoteResource {
 
     @ManyToOne(optional = false) private ApplicationComponent applicationComponent;
     @ManyToOne(optional = false) private ApplicationInstance applicationInstance;
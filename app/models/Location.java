@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableSet;
 
 import de.uniulm.omi.cloudiator.sword.api.domain.LocationScope;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -36,13 +37,14 @@ import javax.persistence.Enumerated;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 
+import models.generic.ReadMostly;
 import models.generic.RemoteResourceInCloud;
 import models.generic.RemoteResourceInLocation;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-@Entity public class Location extends RemoteResourceInCloud {
+@Entity @ReadMostly public class Location extends RemoteResourceInCloud {
 
     @Nullable @ManyToOne(optional = true) private GeoLocation geoLocation;
 
@@ -50,7 +52,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
     @ManyToOne @Nullable private Location parent;
 
-    @OneToMany(mappedBy = "parent") private List<Location> children;
+    @OneToMany(mappedBy = "parent") private List<Location> children = new ArrayList<>();
 
     @Nullable @Column(updatable = false) @Enumerated(EnumType.STRING) private LocationScope
         locationScope;
@@ -58,10 +60,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
     @Column(nullable = false, updatable = false) private Boolean isAssignable;
 
     @OneToMany(mappedBy = "location", cascade = CascadeType.REMOVE)
-    private List<VirtualMachineTemplate> virtualMachineTemplates;
+    private List<VirtualMachineTemplate> virtualMachineTemplates = new ArrayList<>();
 
     @OneToMany(mappedBy = "location", cascade = CascadeType.REMOVE)
-    private List<RemoteResourceInLocation> remoteResources;
+    private List<RemoteResourceInLocation> remoteResources = new ArrayList<>();
 
     /**
      * Empty constructor for hibernate.
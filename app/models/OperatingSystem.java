@@ -23,9 +23,12 @@ import de.uniulm.omi.cloudiator.common.os.OperatingSystemArchitecture;
 import de.uniulm.omi.cloudiator.common.os.OperatingSystemFamily;
 import de.uniulm.omi.cloudiator.common.os.OperatingSystemVersion;
 import models.generic.Model;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.annotation.Nullable;
 import javax.persistence.*;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -33,6 +36,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 04.11.14.
  */
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity public class OperatingSystem extends Model
     implements de.uniulm.omi.cloudiator.common.os.OperatingSystem {
 
@@ -44,7 +48,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
     @Nullable private String version;
 
-    @OneToMany(mappedBy = "operatingSystem") private List<Image> images;
+    @OneToMany(mappedBy = "operatingSystem") private List<Image> images = new ArrayList<>();
 
 
     /**
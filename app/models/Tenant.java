@@ -20,6 +20,8 @@ package models;
 
 import com.google.common.collect.ImmutableList;
 import models.generic.Model;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -32,11 +34,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 12.03.15.
  */
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity public class Tenant extends Model {
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany private List<FrontendUser> frontendUsers;
     @Column(unique = true, nullable = false) private String name;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "tenant", cascade = CascadeType.REMOVE) private List<CloudCredential>
         cloudCredentials;
 
@@ -31,7 +31,8 @@ import java.util.*;
 /**
  * Created by daniel on 31.10.14.
  */
-@Entity public class VirtualMachine extends RemoteResourceInLocation implements LoginNameSupplier {
+@Table(indexes = @Index(columnList = "owner_id")) @Entity public class VirtualMachine
+    extends RemoteResourceInLocation implements LoginNameSupplier {
 
     @Column(unique = true, nullable = false) private String name;
 
@@ -19,6 +19,7 @@
 package models.generic;
 
 import com.google.common.base.MoreObjects;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.io.Serializable;
 
@@ -35,7 +36,9 @@ import javax.persistence.MappedSuperclass;
  */
 @MappedSuperclass public abstract class Model extends Unique implements Serializable {
 
-    @Id @GeneratedValue(strategy = GenerationType.TABLE) private Long id;
+    @Id @GeneratedValue(strategy = GenerationType.TABLE, generator = PooledIdGenerator.NAME)
+    @GenericGenerator(name = PooledIdGenerator.NAME, strategy = "models.generic.PooledIdGenerator")
+    private Long id;
 
     /**
      * Empty constructor for hibernate.
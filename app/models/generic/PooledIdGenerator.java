@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.generic;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import util.ConfigurationConstants;
+
+/**
+ * Table based identifier generator allocating blocks of ids with the pooled-lo optimizer,
+ * so the id table is only locked once per block instead of once per insert.
+ * <p>
+ * The block size is configured by {@link ConfigurationConstants#DB_ID_ALLOCATION_SIZE}.
+ * Each hierarchy uses the table of its root entity as segment, like the hi/lo generator
+ * hibernate used for {@link javax.persistence.GenerationType#TABLE} before. The first
+ * generation raises the segment above the highest id the legacy generator may have
+ * issued, so existing id ranges are never reused.
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    static final String NAME = "pooled";
+
+    private static final String TABLE = "id_pools";
+    private static final String SEGMENT_COLUMN = "pool_name";
+    private static final String VALUE_COLUMN = "next_val";
+
+    private static final String LEGACY_TABLE = "hibernate_sequences";
+    private static final String LEGACY_SEGMENT_COLUMN = "sequence_name";
+    private static final String LEGACY_VALUE_COLUMN = "sequence_next_hi_value";
+    /**
+     * The block size of the legacy hi/lo generator, hibernate defaulted max_lo to
+     * Short.MAX_VALUE.
+     */
+    private static final long LEGACY_BLOCK_SIZE = Short.MAX_VALUE + 1L;
+
+    private volatile boolean seeded = false;
+
+    @Override public void configure(Type type, Properties params, Dialect dialect) {
+        final Config config = ConfigFactory.load();
+        params.setProperty(TABLE_PARAM, TABLE);
+        params.setProperty(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        params.setProperty(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        params.setProperty(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        params.setProperty(OPT_PARAM, "pooled-lo");
+        params.setProperty(INCREMENT_PARAM,
+            String.valueOf(config.getInt(ConfigurationConstants.DB_ID_ALLOCATION_SIZE)));
+        super.configure(type, params, dialect);
+    }
+
+    @Override public synchronized Serializable generate(SessionImplementor session, Object obj) {
+        if (!seeded) {
+            session.getTransactionCoordinator().getTransaction().createIsolationDelegate()
+                .delegateWork(new AbstractReturningWork<Void>() {
+                    @Override public Void execute(Connection connection) throws SQLException {
+                        seed(connection);
+                        return null;
+                    }
+                }, true);
+            seeded = true;
+        }
+        return super.generate(session, obj);
+    }
+
+    /**
+     * Makes sure the segment exists and starts above all ids issued by the legacy generator.
+     */
+    private void seed(Connection connection) throws SQLException {
+        final long start = Math.max(getInitialValue(), legacyBound(connection));
+        final Long current;
+        try (PreparedStatement select = connection.prepareStatement(String
+            .format("select %s from %s where %s = ? for update", getValueColumnName(),
+                getTableName(), getSegmentColumnName()))) {
+            select.setString(1, getSegmentValue());
+            try (ResultSet resultSet = select.executeQuery()) {
+                current = resultSet.next() ? resultSet.getLong(1) : null;
+            }
+        }
+        if (current == null) {
+            try (PreparedStatement insert = connection.prepareStatement(String
+                .format("insert into %s (%s, %s) values (?, ?)", getTableName(),
+                    getSegmentColumnName(), getValueColumnName()))) {
+                insert.setString(1, getSegmentValue());
+                insert.setLong(2, start);
+                insert.executeUpdate();
+            }
+        } else if (current < start) {
+            try (PreparedStatement update = connection.prepareStatement(String
+                .format("update %s set %s = ? where %s = ?", getTableName(),
+                    getValueColumnName(), getSegmentColumnName()))) {
+                update.setLong(1, start);
+                update.setString(2, getSegmentValue());
+                update.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * @return the exclusive upper bound of the ids issued by the legacy hi/lo generator for
+     * the segment, 0 if it was never used.
+     */
+    private long legacyBound(Connection connection) throws SQLException {
+        try (ResultSet tables = connection.getMetaData()
+            .getTables(null, null, LEGACY_TABLE, null)) {
+            if (!tables.next()) {
+                return 0;
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(String
+            .format("select %s from %s where %s = ?", LEGACY_VALUE_COLUMN, LEGACY_TABLE,
+                LEGACY_SEGMENT_COLUMN))) {
+            select.setString(1, getSegmentValue());
+            try (ResultSet resultSet = select.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) * LEGACY_BLOCK_SIZE : 0;
+            }
+        }
+    }
+}
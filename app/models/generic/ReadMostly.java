@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.generic;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a remote resource that is read far more often than it is written.
+ * <p>
+ * Hibernate configures the second level cache per hierarchy, so the {@link RemoteResource}
+ * hierarchy is not cached as a whole. Instead the repositories of types with this annotation
+ * cache the ids of their entities by remote id.
+ */
+@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.TYPE) public @interface ReadMostly {
+}
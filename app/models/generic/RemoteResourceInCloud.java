@@ -25,6 +25,8 @@ import models.CloudCredential;
 import javax.annotation.Nullable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import java.util.ArrayList;
@@ -49,6 +51,8 @@ public abstract class RemoteResourceInCloud extends RemoteResource {
     @Column(nullable = true)
     private String swordId;
     @ManyToMany
+    @JoinTable(indexes = {@Index(columnList = "RemoteResourceInCloud_id"),
+            @Index(columnList = "cloudCredentials_id")})
     private List<CloudCredential> cloudCredentials;
     @ManyToOne
     private CloudCredential owner;
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import models.Tenant;
+
+/**
+ * A query selecting only some attributes of an entity instead of the whole entity, see
+ * {@link ModelService#selectAttributes(List)}.
+ * <p>
+ * Associations are selected by their id, so they are never loaded.
+ */
+public interface AttributeQuery {
+
+    /**
+     * Restricts the query to the entities owned by any of the tenants.
+     *
+     * @throws IllegalStateException if the entities are not owned by tenants.
+     */
+    AttributeQuery ofTenants(Collection<Tenant> tenants);
+
+    /**
+     * Restricts the query to the entity with the given id.
+     */
+    AttributeQuery withId(Long id);
+
+    /**
+     * Restricts the query to entities with an id greater than the given one.
+     */
+    AttributeQuery after(Long id);
+
+    AttributeQuery limit(int limit);
+
+    /**
+     * @return a row for each entity ordered by id, holding the values in the order of the
+     * selected attributes.
+     */
+    List<Object[]> list();
+
+}
@@ -18,25 +18,34 @@
 
 package models.service;
 
-import com.github.drapostolos.typeparser.TypeParser;
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
-import de.uniulm.omi.cloudiator.common.FieldFinder;
+import models.Tenant;
 import models.generic.Model;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
 import play.db.jpa.JPA;
 import play.db.jpa.JPAApi;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Root;
-import java.lang.reflect.Field;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -44,13 +53,54 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
 
+    /**
+     * The number of entities loaded by a page when scrolling.
+     */
+    private static final int SCROLL_PAGE_SIZE = 100;
+
+    /**
+     * The maximum number of ids bound to a single in clause by {@link #findByIds(Collection)}.
+     */
+    private static final int IN_CLAUSE_SIZE = 500;
+
     protected final Class<T> type;
     @SuppressWarnings("unused") private final JPAApi jpaApi;
+    private final boolean cacheable;
+    private final SearchCompiler<T> searchCompiler;
+    protected final ResourceIndex<T> resourceIndex;
 
     @Inject BaseModelRepositoryJpa(JPAApi jpaApi, TypeLiteral<T> type) {
         //noinspection unchecked
         this.type = (Class<T>) type.getRawType();
         this.jpaApi = jpaApi;
+        this.cacheable = isCacheable(this.type);
+        this.searchCompiler = SearchCompiler.of(this.type);
+        this.resourceIndex = ResourceIndex.of(this.type);
+    }
+
+    /**
+     * The second level cache is configured on the root entity, so the hierarchy is searched.
+     */
+    private static boolean isCacheable(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            final Cacheable cacheable = c.getAnnotation(Cacheable.class);
+            if (cacheable != null) {
+                return cacheable.value();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stores the results of the query in the query cache, if the entities are held in the
+     * second level cache. The cached results are invalidated by any change to the queried
+     * tables.
+     */
+    protected <Q extends Query> Q cacheable(Q query) {
+        if (cacheable) {
+            query.setHint(QueryHints.CACHEABLE, true);
+        }
+        return query;
     }
 
     EntityManager em() {
@@ -59,29 +109,51 @@ class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
         return JPA.em();
     }
 
+    Session session() {
+        return em().unwrap(Session.class);
+    }
+
     @Override @Nullable public T findById(Long id) {
         checkNotNull(id);
+        if (resourceIndex.covers(session())) {
+            return resourceIndex.findById(session(), id);
+        }
         return em().find(type, id);
     }
 
+    @Override public List<T> findByIds(Collection<Long> ids) {
+        checkNotNull(ids, "ids is null.");
+        final List<Long> distinctIds =
+            ids.stream().filter(id -> id != null).distinct().collect(Collectors.toList());
+        final List<T> entities = new ArrayList<>(distinctIds.size());
+        final boolean indexed = resourceIndex.covers(session());
+        for (List<Long> chunk : Lists.partition(distinctIds, IN_CLAUSE_SIZE)) {
+            if (indexed) {
+                entities.addAll(resourceIndex.findByIds(session(), chunk));
+            } else {
+                entities.addAll(em()
+                    .createQuery(String.format("select r from %s r where r.id in (:ids)",
+                        type.getName()), type).setParameter("ids", chunk).getResultList());
+            }
+        }
+        return entities;
+    }
+
     @Override public List<T> findByColumn(String columnName, String value)
         throws IllegalColumnException {
-        CriteriaBuilder criteriaBuilder = em().getCriteriaBuilder();
-        CriteriaQuery<T> criteria = criteriaBuilder.createQuery(type);
-        Root<T> tRoot = criteria.from(type);
-        criteria.select(tRoot);
-        TypeParser typeParser = TypeParser.newBuilder().build();
-        Optional<Field> field = FieldFinder.of(type).getField(columnName);
+        return findBySearch(
+            Search.newBuilder().where(columnName, Search.Operator.EQ, value).build());
+    }
 
-        if (!field.isPresent()) {
-            throw new IllegalColumnException(
-                String.format("Type %s does not hold column %s", type, columnName));
+    @Override public List<T> findBySearch(Search search) throws IllegalColumnException {
+        final SearchCompiler.CompiledSearch compiled = searchCompiler.compile(search);
+        final TypedQuery<T> query = em().createQuery(compiled.query(), type);
+        final List<Object> parameters = compiled.parameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter("p" + i, parameters.get(i));
         }
-
-        Object o = typeParser.parseType(value, field.get().getType());
-        criteria.where(criteriaBuilder.equal(tRoot.get(columnName), o));
-
-        return em().createQuery(criteria).getResultList();
+        search.limit().ifPresent(query::setMaxResults);
+        return cacheable(query).getResultList();
     }
 
     private void persist(final T t) {
@@ -89,14 +161,24 @@ class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
     }
 
     @Override public void save(final T t) {
+        this.saveDeferred(t);
+        this.flush();
+        this.refresh(t);
+    }
+
+    @Override public void saveDeferred(final T t) {
         checkNotNull(t);
         if (t.getId() == null) {
             this.persist(t);
         } else {
             this.update(t);
         }
+    }
+
+    @Override public void saveAll(Collection<T> ts) {
+        checkNotNull(ts, "ts is null.");
+        ts.forEach(this::saveDeferred);
         this.flush();
-        this.refresh(t);
     }
 
     protected T update(final T t) {
@@ -121,15 +203,203 @@ class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
 
     @Override public List<T> findAll() {
         String queryString = String.format("from %s", type.getName());
-        Query query = em().createQuery(queryString);
+        Query query = cacheable(em().createQuery(queryString));
         //noinspection unchecked
         return query.getResultList();
     }
 
+    @Override public List<T> findPage(@Nullable Long after, int limit) {
+        checkArgument(limit > 0, "limit needs to be positive.");
+        return select(null, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override public List<T> findAllOfTenants(Collection<Tenant> tenants) {
+        checkNotNull(tenants, "tenants is null.");
+        if (tenants.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return select(tenants, null).getResultList();
+    }
+
+    @Override
+    public List<T> findPageOfTenants(Collection<Tenant> tenants, @Nullable Long after, int limit) {
+        checkNotNull(tenants, "tenants is null.");
+        checkArgument(limit > 0, "limit needs to be positive.");
+        if (tenants.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return select(tenants, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override public void scrollAll(Consumer<? super T> consumer) {
+        checkNotNull(consumer, "consumer is null.");
+        scroll(null, consumer);
+    }
+
+    @Override public void scrollAllOfTenants(Collection<Tenant> tenants,
+        Consumer<? super T> consumer) {
+        checkNotNull(tenants, "tenants is null.");
+        checkNotNull(consumer, "consumer is null.");
+        if (tenants.isEmpty()) {
+            return;
+        }
+        scroll(tenants, consumer);
+    }
+
+    /**
+     * Scrolls the entities by keyset pages of {@link #SCROLL_PAGE_SIZE} and clears the
+     * persistence context after every page, so only the current page is held in memory.
+     * <p>
+     * The driver (MariaDB Connector/J) ignores the fetch size of a scroll and only streams
+     * with a fetch size of Integer.MIN_VALUE, which blocks the connection for the lazy loads
+     * of the consumer. Every page is instead a bounded query on the primary key index.
+     */
+    private void scroll(@Nullable Collection<Tenant> tenants, Consumer<? super T> consumer) {
+        Long after = null;
+        List<T> page;
+        do {
+            page = select(tenants, after).setHint(QueryHints.CACHEABLE, false)
+                .setHint(QueryHints.READ_ONLY, true).setMaxResults(SCROLL_PAGE_SIZE)
+                .getResultList();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+            page.forEach(consumer);
+            em().clear();
+        } while (page.size() == SCROLL_PAGE_SIZE);
+    }
+
+    @Override public Optional<AttributeQuery> selectAttributes(List<String> attributes) {
+        checkNotNull(attributes, "attributes is null.");
+        checkArgument(!attributes.isEmpty(), "attributes is empty.");
+        final EntityType<T> entityType = em().getMetamodel().entity(type);
+        final List<String> selection = new ArrayList<>(attributes.size());
+        for (String name : attributes) {
+            final Attribute<? super T, ?> attribute;
+            try {
+                attribute = entityType.getAttribute(name);
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            switch (attribute.getPersistentAttributeType()) {
+                case BASIC:
+                    selection.add("r." + name);
+                    break;
+                case MANY_TO_ONE:
+                case ONE_TO_ONE:
+                    //the id of a to-one association is read from the foreign key, without a join
+                    selection.add("r." + name + ".id");
+                    break;
+                default:
+                    return Optional.empty();
+            }
+        }
+        return Optional.of(new JpaAttributeQuery(Joiner.on(", ").join(selection)));
+    }
+
+    /**
+     * Selects the entities ordered by id, so the database can use the primary key index
+     * for keyset pagination.
+     *
+     * @param tenants restricts the entities to these tenants, see {@link TenantCriteria}.
+     * @param after   restricts the entities to ids greater than this one.
+     */
+    private TypedQuery<T> select(@Nullable Collection<Tenant> tenants, @Nullable Long after) {
+        return cacheable(bind(em().createQuery(
+            String.format("select r from %s r%s order by r.id", type.getName(),
+                where(tenants, null, after)), type), tenants, null, after));
+    }
+
+    private String where(@Nullable Collection<Tenant> tenants, @Nullable Long id,
+        @Nullable Long after) {
+        final List<String> criteria = new ArrayList<>(3);
+        if (tenants != null) {
+            criteria.add(TenantCriteria.of(type).orElseThrow(() -> new IllegalStateException(
+                String.format("%s is not owned by tenants.", type.getSimpleName()))));
+        }
+        if (id != null) {
+            criteria.add("r.id = :id");
+        }
+        if (after != null) {
+            criteria.add("r.id > :after");
+        }
+        return criteria.isEmpty() ? "" : " where " + Joiner.on(" and ").join(criteria);
+    }
+
+    private static <Q extends Query> Q bind(Q query, @Nullable Collection<Tenant> tenants,
+        @Nullable Long id, @Nullable Long after) {
+        if (tenants != null) {
+            query.setParameter("tenants", tenants);
+        }
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        return query;
+    }
+
+    private class JpaAttributeQuery implements AttributeQuery {
+
+        private final String selection;
+        @Nullable private Collection<Tenant> tenants;
+        @Nullable private Long id;
+        @Nullable private Long after;
+        private int limit = 0;
+
+        private JpaAttributeQuery(String selection) {
+            this.selection = selection;
+        }
+
+        @Override public AttributeQuery ofTenants(Collection<Tenant> tenants) {
+            this.tenants = checkNotNull(tenants, "tenants is null.");
+            return this;
+        }
+
+        @Override public AttributeQuery withId(Long id) {
+            this.id = checkNotNull(id, "id is null.");
+            return this;
+        }
+
+        @Override public AttributeQuery after(Long id) {
+            this.after = checkNotNull(id, "id is null.");
+            return this;
+        }
+
+        @Override public AttributeQuery limit(int limit) {
+            checkArgument(limit > 0, "limit needs to be positive.");
+            this.limit = limit;
+            return this;
+        }
+
+        @Override public List<Object[]> list() {
+            if (tenants != null && tenants.isEmpty()) {
+                return Collections.emptyList();
+            }
+            final Query query = bind(em().createQuery(String
+                .format("select %s from %s r%s order by r.id", selection, type.getName(),
+                    where(tenants, id, after))), tenants, id, after);
+            if (limit > 0) {
+                query.setMaxResults(limit);
+            }
+            final List<?> results = query.getResultList();
+            final List<Object[]> rows = new ArrayList<>(results.size());
+            for (Object result : results) {
+                //a single selected attribute is not wrapped in an array
+                rows.add(result instanceof Object[] ? (Object[]) result : new Object[] {result});
+            }
+            return rows;
+        }
+    }
+
     @Nullable @Override public T findByUuid(String uuid) {
         checkNotNull(uuid);
+        if (resourceIndex.covers(session())) {
+            return resourceIndex.findByUuid(session(), uuid);
+        }
         String queryString = String.format("from %s where uuid=:uuid", type.getName());
-        Query query = em().createQuery(queryString).setParameter("uuid", uuid);
+        Query query = cacheable(em().createQuery(queryString)).setParameter("uuid", uuid);
         try {
             //noinspection unchecked
             return (T) query.getSingleResult();
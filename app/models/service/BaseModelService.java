@@ -20,10 +20,14 @@ package models.service;
 
 import com.google.inject.Inject;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
+import models.Tenant;
 import models.generic.Model;
 import util.logging.Loggers;
 
@@ -47,6 +51,10 @@ public class BaseModelService<T extends Model> implements ModelService<T> {
         return modelRepository.findById(id);
     }
 
+    @Override public List<T> getByIds(Collection<Long> ids) {
+        return modelRepository.findByIds(ids);
+    }
+
     @Override public List<T> getByAttributeValue(String attribute, String value)
         throws IllegalSearchException {
         try {
@@ -59,6 +67,17 @@ public class BaseModelService<T extends Model> implements ModelService<T> {
         }
     }
 
+    @Override public List<T> getBySearch(Search search) throws IllegalSearchException {
+        try {
+            return modelRepository.findBySearch(search);
+        } catch (IllegalColumnException e) {
+            throw new IllegalSearchException(e);
+        } catch (Exception e) {
+            LOGGER.warn("Unexpected error during execution of search.", e);
+            throw new IllegalSearchException(e);
+        }
+    }
+
     @Override @Nullable public T getByUuid(String uuid) {
         return modelRepository.findByUuid(uuid);
     }
@@ -67,10 +86,44 @@ public class BaseModelService<T extends Model> implements ModelService<T> {
         return modelRepository.findAll();
     }
 
+    @Override public List<T> getPage(@Nullable Long after, int limit) {
+        return modelRepository.findPage(after, limit);
+    }
+
+    @Override public List<T> getAllOfTenants(Collection<Tenant> tenants) {
+        return modelRepository.findAllOfTenants(tenants);
+    }
+
+    @Override
+    public List<T> getPageOfTenants(Collection<Tenant> tenants, @Nullable Long after, int limit) {
+        return modelRepository.findPageOfTenants(tenants, after, limit);
+    }
+
+    @Override public void forEach(Consumer<? super T> consumer) {
+        modelRepository.scrollAll(consumer);
+    }
+
+    @Override
+    public void forEachOfTenants(Collection<Tenant> tenants, Consumer<? super T> consumer) {
+        modelRepository.scrollAllOfTenants(tenants, consumer);
+    }
+
+    @Override public Optional<AttributeQuery> selectAttributes(List<String> attributes) {
+        return modelRepository.selectAttributes(attributes);
+    }
+
     @Override public void save(T entity) {
         this.modelRepository.save(entity);
     }
 
+    @Override public void saveDeferred(T entity) {
+        this.modelRepository.saveDeferred(entity);
+    }
+
+    @Override public void saveAll(Collection<T> ts) {
+        this.modelRepository.saveAll(ts);
+    }
+
     @Override public void delete(T entity) {
         this.modelRepository.delete(entity);
     }
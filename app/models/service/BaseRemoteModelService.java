@@ -20,6 +20,8 @@ package models.service;
 
 import com.google.inject.Inject;
 
+import java.util.List;
+
 import models.generic.RemoteResource;
 
 /**
@@ -38,4 +40,8 @@ public class BaseRemoteModelService<T extends RemoteResource> extends BaseModelS
     @Override public T getByRemoteId(String remoteId) {
         return tRemoteResourceRepository.findByRemoteId(remoteId);
     }
+
+    @Override public List<T> getAllWithCredentials() {
+        return tRemoteResourceRepository.findAllWithCredentials();
+    }
 }
@@ -20,12 +20,14 @@ package models.service;
 
 import com.google.inject.TypeLiteral;
 import models.generic.RemoteResource;
+import models.generic.RemoteResourceInCloud;
 import play.db.jpa.JPAApi;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -35,19 +37,52 @@ import static com.google.common.base.Preconditions.checkNotNull;
 class BaseRemoteResourceRepositoryJpa<T extends RemoteResource> extends BaseModelRepositoryJpa<T>
     implements RemoteResourceRepository<T> {
 
+    @Nullable private final RemoteIdCache remoteIds;
+
     @Inject public BaseRemoteResourceRepositoryJpa(JPAApi jpaApi, TypeLiteral<T> type) {
         super(jpaApi, type);
+        this.remoteIds = RemoteIdCache.of(this.type);
     }
 
     @Nullable @Override public T findByRemoteId(String remoteId) {
         checkNotNull(remoteId);
+        if (resourceIndex.covers(session())) {
+            return resourceIndex.findByRemoteId(session(), remoteId);
+        }
+        if (remoteIds != null) {
+            final Long id = remoteIds.get(remoteId);
+            if (id != null) {
+                final T resource = em().find(type, id);
+                if (resource != null && remoteId.equals(resource.remoteId().orElse(null))) {
+                    return resource;
+                }
+                remoteIds.invalidate(remoteId);
+            }
+        }
         String queryString = String.format("from %s where remoteId=:remoteId", type.getName());
-        Query query = em().createQuery(queryString).setParameter("remoteId", remoteId);
+        Query query =
+            cacheable(em().createQuery(queryString)).setParameter("remoteId", remoteId);
         try {
             //noinspection unchecked
-            return (T) query.getSingleResult();
+            final T resource = (T) query.getSingleResult();
+            if (remoteIds != null) {
+                remoteIds.put(resource);
+            }
+            return resource;
         } catch (NoResultException e) {
             return null;
         }
     }
+
+    @Override public List<T> findAllWithCredentials() {
+        if (!RemoteResourceInCloud.class.isAssignableFrom(type)) {
+            return findAll();
+        }
+        String queryString = String
+            .format("select distinct r from %s r left join fetch r.cloudCredentials",
+                type.getName());
+        Query query = cacheable(em().createQuery(queryString));
+        //noinspection unchecked
+        return query.getResultList();
+    }
 }
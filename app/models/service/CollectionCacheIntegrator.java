@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import models.generic.Model;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.collection.QueryableCollection;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.type.EntityType;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hibernate integrator evicting cached inverse (mapped by) collections.
+ * <p>
+ * Hibernate only invalidates a cached collection if its owning side changes. An inverse
+ * collection is however changed through its elements, e.g. Cloud.cloudCredentials by setting
+ * the cloud of a credential. Therefore every change to an entity evicts the cached inverse
+ * collections of its old and new owner, once when flushed and again after the transaction
+ * completed, so no concurrent transaction caches the old state in between. Collections whose
+ * owner can not be resolved from the entity, e.g. inverse many to many associations, are
+ * evicted for all owners.
+ * <p>
+ * Registered using the service loader (META-INF/services).
+ */
+public class CollectionCacheIntegrator implements Integrator {
+
+    @Override public void integrate(Configuration configuration,
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        register(serviceRegistry);
+    }
+
+    @Override public void integrate(MetadataImplementor metadata,
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        register(serviceRegistry);
+    }
+
+    @Override public void disintegrate(SessionFactoryImplementor sessionFactory,
+        SessionFactoryServiceRegistry serviceRegistry) {
+        //intentionally left empty
+    }
+
+    private static void register(SessionFactoryServiceRegistry serviceRegistry) {
+        final EventListenerRegistry registry =
+            serviceRegistry.getService(EventListenerRegistry.class);
+        final EvictionListener listener = new EvictionListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    private static class EvictionListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+        /**
+         * The cached inverse collections by the class of their elements. Computed lazily, as
+         * the persisters do not exist yet when the integrator is called.
+         */
+        private final ConcurrentMap<Class<?>, Set<InverseRole>> roles =
+            new ConcurrentHashMap<>();
+
+        private Set<InverseRole> rolesOf(SessionFactoryImplementor factory, Class<?> type) {
+            return roles.computeIfAbsent(type, k -> {
+                final ImmutableSet.Builder<InverseRole> builder = ImmutableSet.builder();
+                for (Object role : factory.getAllCollectionMetadata().keySet()) {
+                    final CollectionPersister persister =
+                        factory.getCollectionPersister((String) role);
+                    if (!persister.hasCache() || !persister.isInverse() || !persister
+                        .getElementType().isEntityType()) {
+                        continue;
+                    }
+                    final EntityPersister elementPersister = factory.getEntityPersister(
+                        ((EntityType) persister.getElementType()).getAssociatedEntityName());
+                    if (elementPersister.getMappedClass().isAssignableFrom(type)) {
+                        builder.add(new InverseRole((String) role,
+                            mappedBy((QueryableCollection) persister, elementPersister)));
+                    }
+                }
+                return builder.build();
+            });
+        }
+
+        /**
+         * Resolves the property of the element referencing the owner of the collection by
+         * comparing the join columns, as the persister does not expose the mapped by name.
+         *
+         * @return the property name or null if the collection is not joined by a property of
+         * the element, e.g. for many to many associations.
+         */
+        @Nullable private static String mappedBy(QueryableCollection persister,
+            EntityPersister elementPersister) {
+            if (persister.isManyToMany()
+                || !(elementPersister instanceof AbstractEntityPersister)) {
+                return null;
+            }
+            final AbstractEntityPersister element = (AbstractEntityPersister) elementPersister;
+            for (String property : element.getPropertyNames()) {
+                if (element.getPropertyType(property).isEntityType() && Arrays
+                    .equals(persister.getKeyColumnNames(),
+                        element.getPropertyColumnNames(property))) {
+                    return property;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Evicts the cached inverse collections containing the changed entity.
+         *
+         * @param state         the state of the entity, null if not known.
+         * @param previousState the state before an update, null on insert and delete.
+         * @param update        if the entity was updated.
+         */
+        private void evict(EventSource session, EntityPersister persister, Object entity,
+            @Nullable Object[] state, @Nullable Object[] previousState, boolean update) {
+            final SessionFactoryImplementor factory = session.getFactory();
+            final List<Runnable> evictions = new ArrayList<>();
+            for (InverseRole role : rolesOf(factory, entity.getClass())) {
+                final Integer index = role.mappedBy == null ?
+                    null :
+                    persister.getEntityMetamodel().getPropertyIndexOrNull(role.mappedBy);
+                if (index == null || state == null || (update && previousState == null)) {
+                    evictions.add(() -> factory.getCache().evictCollectionRegion(role.name));
+                    continue;
+                }
+                final Long owner = idOf(state[index]);
+                final Long previousOwner = update ? idOf(previousState[index]) : owner;
+                if (update && Objects.equals(owner, previousOwner)) {
+                    continue;
+                }
+                for (Long id : Sets.newHashSet(owner, previousOwner)) {
+                    if (id != null) {
+                        evictions.add(() -> factory.getCache().evictCollection(role.name, id));
+                    }
+                }
+            }
+            evict(session, evictions);
+        }
+
+        private void evict(EventSource session, List<Runnable> evictions) {
+            if (evictions.isEmpty()) {
+                return;
+            }
+            evictions.forEach(Runnable::run);
+            session.getActionQueue().registerProcess(
+                (success, sessionImplementor) -> evictions.forEach(Runnable::run));
+        }
+
+        /**
+         * Collection events do not carry the changed elements, so all owners are evicted.
+         */
+        private void evict(AbstractCollectionEvent event) {
+            final Object owner = event.getAffectedOwnerOrNull();
+            final SessionFactoryImplementor factory = event.getSession().getFactory();
+            final Class<?> type = owner != null ?
+                owner.getClass() :
+                factory.getEntityPersister(event.getAffectedOwnerEntityName()).getMappedClass();
+            final List<Runnable> evictions = new ArrayList<>();
+            rolesOf(factory, type).forEach(role -> evictions
+                .add(() -> factory.getCache().evictCollectionRegion(role.name)));
+            evict(event.getSession(), evictions);
+        }
+
+        @Nullable private static Long idOf(@Nullable Object owner) {
+            return owner instanceof Model ? ((Model) owner).getId() : null;
+        }
+
+        @Override public void onPostInsert(PostInsertEvent event) {
+            evict(event.getSession(), event.getPersister(), event.getEntity(), event.getState(),
+                null, false);
+        }
+
+        @Override public void onPostUpdate(PostUpdateEvent event) {
+            evict(event.getSession(), event.getPersister(), event.getEntity(), event.getState(),
+                event.getOldState(), true);
+        }
+
+        @Override public void onPostDelete(PostDeleteEvent event) {
+            evict(event.getSession(), event.getPersister(), event.getEntity(),
+                event.getDeletedState(), null, false);
+        }
+
+        @Override public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            evict(event);
+        }
+
+        @Override public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            evict(event);
+        }
+
+        @Override public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            evict(event);
+        }
+
+        @Override public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+
+    private static class InverseRole {
+
+        private final String name;
+        @Nullable private final String mappedBy;
+
+        private InverseRole(String name, @Nullable String mappedBy) {
+            this.name = name;
+            this.mappedBy = mappedBy;
+        }
+    }
+}
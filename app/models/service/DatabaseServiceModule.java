@@ -112,6 +112,7 @@ public class DatabaseServiceModule extends AbstractModule {
         bind(new TypeLiteral<ModelService<HardwareOffer>>() {
         }).to(new TypeLiteral<BaseModelService<HardwareOffer>>() {
         });
+        bind(HardwareOfferModelService.class).to(DefaultHardwareOfferModelService.class);
         //Image
         bind(new TypeLiteral<ModelService<Image>>() {
         }).to(new TypeLiteral<BaseModelService<Image>>() {
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import models.HardwareOffer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches the ids of the offers by their properties. A cached id is verified by a primary
+ * key lookup and dropped if the offer does not exist anymore, e.g. as it was deleted or
+ * the transaction creating it was rolled back.
+ */
+@Singleton public class DefaultHardwareOfferModelService extends BaseModelService<HardwareOffer>
+    implements HardwareOfferModelService {
+
+    private final HardwareOfferRepository hardwareOfferRepository;
+    private final ConcurrentMap<String, Long> offers = new ConcurrentHashMap<>();
+
+    @Inject public DefaultHardwareOfferModelService(
+        HardwareOfferRepository hardwareOfferRepository) {
+        super(hardwareOfferRepository);
+        this.hardwareOfferRepository = hardwareOfferRepository;
+    }
+
+    @Override public HardwareOffer findOrCreate(Integer numberOfCores, Long mbOfRam,
+        @Nullable Float localDiskSpace) {
+        checkNotNull(numberOfCores, "numberOfCores is null.");
+        checkNotNull(mbOfRam, "mbOfRam is null.");
+
+        final String key = HardwareOffer.key(numberOfCores, mbOfRam, localDiskSpace);
+
+        final Long cachedId = offers.get(key);
+        if (cachedId != null) {
+            final HardwareOffer cached = getById(cachedId);
+            if (cached != null) {
+                return cached;
+            }
+            offers.remove(key, cachedId);
+        }
+
+        for (HardwareOffer hardwareOffer : hardwareOfferRepository
+            .findByCoresAndRam(numberOfCores, mbOfRam)) {
+            //todo: check if this disk space comparison is ok, or if we need to consider disk space
+            if (localDiskSpace == null || localDiskSpace
+                .equals(hardwareOffer.getLocalDiskSpace())) {
+                offers.put(key, hardwareOffer.getId());
+                return hardwareOffer;
+            }
+        }
+
+        final HardwareOffer hardwareOffer =
+            new HardwareOffer(numberOfCores, mbOfRam, localDiskSpace);
+        save(hardwareOffer);
+        offers.put(key, hardwareOffer.getId());
+        return hardwareOffer;
+    }
+}
@@ -38,6 +38,7 @@ class FrontendUserRepositoryJpa extends BaseModelRepositoryJpa<FrontendUser>
 
     @Override public FrontendUser findByMail(final String mail) {
         return (FrontendUser) getSingleResultOrNull(
-            em().createQuery("from FrontendUser fu where mail = :mail").setParameter("mail", mail));
+            cacheable(em().createQuery("from FrontendUser fu where mail = :mail"))
+                .setParameter("mail", mail));
     }
 }
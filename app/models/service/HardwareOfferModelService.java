@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import javax.annotation.Nullable;
+
+import models.HardwareOffer;
+
+/**
+ * Service for {@link HardwareOffer}s.
+ */
+public interface HardwareOfferModelService extends ModelService<HardwareOffer> {
+
+    /**
+     * Returns the hardware offer with the given properties, creating it if it does not
+     * exist yet.
+     * <p>
+     * If no disk space is given, any offer with the given cores and ram matches.
+     * <p>
+     * Offers are unique with respect to their properties. If another transaction
+     * concurrently creates the same offer, one of the transactions fails on commit and
+     * needs to be retried, the retry will then find the offer.
+     *
+     * @param numberOfCores  the number of cores (mandatory).
+     * @param mbOfRam        the ram in megabytes (mandatory).
+     * @param localDiskSpace the disk space in gigabytes.
+     * @return the existing or newly created offer.
+     * @throws NullPointerException if the number of cores or the ram is null.
+     */
+    HardwareOffer findOrCreate(Integer numberOfCores, Long mbOfRam,
+        @Nullable Float localDiskSpace);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+import com.google.inject.TypeLiteral;
+
+import java.util.List;
+
+import javax.persistence.TypedQuery;
+
+import models.HardwareOffer;
+import play.db.jpa.JPAApi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * JPA implementation of the {@link HardwareOfferRepository}.
+ */
+class HardwareOfferRepositoryJpa extends BaseModelRepositoryJpa<HardwareOffer>
+    implements HardwareOfferRepository {
+
+    @Inject public HardwareOfferRepositoryJpa(JPAApi jpaApi, TypeLiteral<HardwareOffer> type) {
+        super(jpaApi, type);
+    }
+
+    @Override public List<HardwareOffer> findByCoresAndRam(Integer numberOfCores, Long mbOfRam) {
+        checkNotNull(numberOfCores);
+        checkNotNull(mbOfRam);
+        TypedQuery<HardwareOffer> query = em().createQuery(
+            "from HardwareOffer where numberOfCores=:numberOfCores and mbOfRam=:mbOfRam order by id",
+            HardwareOffer.class).setParameter("numberOfCores", numberOfCores)
+            .setParameter("mbOfRam", mbOfRam);
+        return query.getResultList();
+    }
+}
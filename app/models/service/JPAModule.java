@@ -63,6 +63,11 @@ import models.TimeWindow;
 import models.VirtualMachine;
 import models.VirtualMachineTemplate;
 import models.Window;
+import models.service.migration.SchemaMigrator;
+import models.service.replica.ReplicaRoutingJPAApi;
+import play.db.jpa.DefaultJPAConfig;
+import play.db.jpa.JPAApi;
+import play.db.jpa.JPAConfig;
 
 /**
  * Created by daniel on 18.03.15.
@@ -70,6 +75,11 @@ import models.Window;
 public class JPAModule extends AbstractModule {
 
     @Override protected void configure() {
+        // JPA, routing read-only transactions to the read replica
+        bind(JPAConfig.class).toProvider(DefaultJPAConfig.JPAConfigProvider.class);
+        bind(JPAApi.class).toProvider(ReplicaRoutingJPAApi.Provider.class);
+        // Schema migrations, applied on start
+        bind(SchemaMigrator.class).asEagerSingleton();
         // API
         bind(new TypeLiteral<ModelRepository<Api>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<Api>>() {
@@ -147,6 +157,7 @@ public class JPAModule extends AbstractModule {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<Hardware>>() {
         });
         //Hardware Properties
+        bind(HardwareOfferRepository.class).to(HardwareOfferRepositoryJpa.class);
         bind(new TypeLiteral<ModelRepository<HardwareOffer>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<HardwareOffer>>() {
         });
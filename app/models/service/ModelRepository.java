@@ -18,10 +18,14 @@
 
 package models.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
+import models.Tenant;
 import models.generic.Model;
 
 /**
@@ -31,11 +35,80 @@ interface ModelRepository<T extends Model> extends UniqueRepository<T> {
 
     @Nullable T findById(Long id);
 
+    /**
+     * @param ids the ids of the entities.
+     * @return the entities with any of the ids, in no particular order. Unknown ids are
+     * ignored.
+     */
+    List<T> findByIds(Collection<Long> ids);
+
     List<T> findByColumn(String columnName, String value) throws IllegalColumnException;
 
+    /**
+     * @return the entities matching all criteria of the search, in the order of the search.
+     * @throws IllegalColumnException if an attribute does not exist, does not support the
+     *                                operator or a value does not match its type.
+     */
+    List<T> findBySearch(Search search) throws IllegalColumnException;
+
     void delete(T t);
 
     void save(T t);
 
+    /**
+     * Saves the entity without flushing or refreshing it, the statements are executed with
+     * the next flush, at the latest on commit.
+     */
+    void saveDeferred(T t);
+
+    /**
+     * Saves all entities with a single flush, so the statements are batched. Unlike
+     * {@link #save(Model)}, the entities are not refreshed afterwards.
+     */
+    void saveAll(Collection<T> ts);
+
     List<T> findAll();
+
+    /**
+     * Keyset pagination ordered by id.
+     *
+     * @param after the id of the last entity of the previous page, null for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the entities with an id greater than after, ordered by id.
+     */
+    List<T> findPage(@Nullable Long after, int limit);
+
+    /**
+     * @param tenants the tenants.
+     * @return the entities owned by any of the tenants, ordered by id.
+     * @throws IllegalStateException if the entities are not owned by tenants.
+     */
+    List<T> findAllOfTenants(Collection<Tenant> tenants);
+
+    /**
+     * Keyset pagination of {@link #findAllOfTenants(Collection)}, see
+     * {@link #findPage(Long, int)}.
+     */
+    List<T> findPageOfTenants(Collection<Tenant> tenants, @Nullable Long after, int limit);
+
+    /**
+     * Passes all entities ordered by id to the consumer, without loading them at once.
+     * <p>
+     * The persistence context is cleared periodically, so entities passed to the consumer
+     * are detached afterwards.
+     */
+    void scrollAll(Consumer<? super T> consumer);
+
+    /**
+     * Scrolling variant of {@link #findAllOfTenants(Collection)}, see
+     * {@link #scrollAll(Consumer)}.
+     */
+    void scrollAllOfTenants(Collection<Tenant> tenants, Consumer<? super T> consumer);
+
+    /**
+     * @param attributes the names of the attributes to select.
+     * @return a query selecting the attributes, empty if any of them is not a basic or
+     * to-one attribute of the entity.
+     */
+    Optional<AttributeQuery> selectAttributes(List<String> attributes);
 }
@@ -18,10 +18,14 @@
 
 package models.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
+import models.Tenant;
 import models.generic.Model;
 
 /**
@@ -31,12 +35,99 @@ public interface ModelService<T extends Model> extends UniqueService<T> {
 
     @Nullable T getById(Long id);
 
+    /**
+     * Loads all entities with the given ids using as few queries as possible.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities with any of the ids, in no particular order. Unknown ids are
+     * ignored.
+     */
+    List<T> getByIds(Collection<Long> ids);
+
     List<T> getByAttributeValue(String attribute, String value) throws IllegalSearchException;
 
+    /**
+     * Searches the entities matching all criteria of the search.
+     *
+     * @param search the search.
+     * @return the matching entities, sorted and limited as defined by the search.
+     * @throws IllegalSearchException if the search is not valid for the entity.
+     */
+    List<T> getBySearch(Search search) throws IllegalSearchException;
+
     List<T> getAll();
 
+    /**
+     * Returns a page of the entities ordered by id.
+     *
+     * @param after the id of the last entity of the previous page, null for the first page.
+     * @param limit the maximum number of entities to return.
+     * @return the entities with an id greater than after, ordered by id.
+     */
+    List<T> getPage(@Nullable Long after, int limit);
+
+    /**
+     * Returns the entities owned by any of the tenants, restricted within the query.
+     *
+     * @param tenants the tenants.
+     * @return the entities of the tenants, ordered by id.
+     * @throws IllegalStateException if the entities are not owned by tenants.
+     */
+    List<T> getAllOfTenants(Collection<Tenant> tenants);
+
+    /**
+     * Returns a page of {@link #getAllOfTenants(Collection)}, see {@link #getPage(Long, int)}.
+     */
+    List<T> getPageOfTenants(Collection<Tenant> tenants, @Nullable Long after, int limit);
+
+    /**
+     * Passes all entities ordered by id to the consumer, keeping only a bounded number of
+     * them in memory. The entities are detached once the consumer returned.
+     *
+     * @param consumer the consumer of the entities.
+     */
+    void forEach(Consumer<? super T> consumer);
+
+    /**
+     * Variant of {@link #forEach(Consumer)} restricted to the entities of the tenants, see
+     * {@link #getAllOfTenants(Collection)}.
+     */
+    void forEachOfTenants(Collection<Tenant> tenants, Consumer<? super T> consumer);
+
+    /**
+     * Returns a projection query selecting only the given attributes.
+     *
+     * @param attributes the names of the attributes to select.
+     * @return the query, empty if any of the attributes is not a basic or to-one attribute
+     * of the entity.
+     */
+    Optional<AttributeQuery> selectAttributes(List<String> attributes);
+
     void save(T t);
 
+    /**
+     * Saves the entity without flushing and refreshing it.
+     * <p>
+     * The statements are executed with the next flush, at the latest when the transaction
+     * commits, so the writes of a transaction saving many entities are batched. The id of a
+     * new entity is assigned by the table generator and available right away, but state
+     * maintained by the database (e.g. inverse collections) is not loaded. Use
+     * {@link #save(Model)} if that state is needed within the transaction.
+     *
+     * @param t the entity to save.
+     */
+    void saveDeferred(T t);
+
+    /**
+     * Saves all entities at once, batching the statements.
+     * <p>
+     * In contrast to {@link #save(Model)}, the entities are not refreshed, so state
+     * maintained by the database (e.g. inverse collections) is not loaded.
+     *
+     * @param ts the entities to save.
+     */
+    void saveAll(Collection<T> ts);
+
     void delete(T t);
 
 }
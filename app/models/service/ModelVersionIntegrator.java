@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate integrator maintaining the {@link ModelVersions}.
+ * <p>
+ * Registered using the service loader (META-INF/services). Changes are only counted once
+ * their transaction is committed, so a version never refers to uncommitted data.
+ */
+public class ModelVersionIntegrator implements Integrator {
+
+    @Override public void integrate(Configuration configuration,
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        register(serviceRegistry);
+    }
+
+    @Override public void integrate(MetadataImplementor metadata,
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        register(serviceRegistry);
+    }
+
+    @Override public void disintegrate(SessionFactoryImplementor sessionFactory,
+        SessionFactoryServiceRegistry serviceRegistry) {
+        //intentionally left empty
+    }
+
+    private static void register(SessionFactoryServiceRegistry serviceRegistry) {
+        final EventListenerRegistry registry =
+            serviceRegistry.getService(EventListenerRegistry.class);
+        final VersionListener listener = new VersionListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    private static class VersionListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+        private static void incrementOnCommit(EventSource session, Class<?> type) {
+            session.getActionQueue().registerProcess((success, sessionImplementor) -> {
+                if (success) {
+                    ModelVersions.increment(type);
+                }
+            });
+        }
+
+        private static void incrementOnCommit(AbstractCollectionEvent event) {
+            final Object owner = event.getAffectedOwnerOrNull();
+            if (owner != null) {
+                incrementOnCommit(event.getSession(), owner.getClass());
+            } else {
+                incrementOnCommit(event.getSession(),
+                    event.getSession().getFactory()
+                        .getEntityPersister(event.getAffectedOwnerEntityName())
+                        .getMappedClass());
+            }
+        }
+
+        @Override public void onPostInsert(PostInsertEvent event) {
+            incrementOnCommit(event.getSession(), event.getEntity().getClass());
+        }
+
+        @Override public void onPostUpdate(PostUpdateEvent event) {
+            incrementOnCommit(event.getSession(), event.getEntity().getClass());
+        }
+
+        @Override public void onPostDelete(PostDeleteEvent event) {
+            incrementOnCommit(event.getSession(), event.getEntity().getClass());
+        }
+
+        @Override public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            incrementOnCommit(event);
+        }
+
+        @Override public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            incrementOnCommit(event);
+        }
+
+        @Override public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            incrementOnCommit(event);
+        }
+
+        @Override public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import models.generic.Model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Per model type version counters, incremented after every committed transaction that
+ * inserted, updated or deleted an entity of the type or changed one of its collections.
+ * <p>
+ * The counters are maintained by the {@link ModelVersionIntegrator}. They are kept in memory
+ * and restart on every start of the application, which is reflected by the {@link #epoch()}.
+ * Bulk update queries bypass the counters.
+ */
+public final class ModelVersions {
+
+    private static final long EPOCH = System.currentTimeMillis();
+
+    private static final ConcurrentMap<Class<?>, AtomicLong> VERSIONS =
+        new ConcurrentHashMap<>();
+
+    private ModelVersions() {
+        throw new AssertionError("Do not instantiate.");
+    }
+
+    /**
+     * @return the start of the counters, distinguishing versions of different application
+     * starts.
+     */
+    public static long epoch() {
+        return EPOCH;
+    }
+
+    /**
+     * Returns the current version of the model type.
+     *
+     * @param type the model type.
+     * @return the version of the model type.
+     */
+    public static long of(Class<? extends Model> type) {
+        checkNotNull(type, "type is null.");
+        final AtomicLong version = VERSIONS.get(type);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Increments the version of the type and all its model superclasses.
+     */
+    static void increment(Class<?> type) {
+        for (Class<?> c = type; c != null && Model.class.isAssignableFrom(c);
+             c = c.getSuperclass()) {
+            VERSIONS.computeIfAbsent(c, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
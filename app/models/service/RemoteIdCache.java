@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import models.generic.ReadMostly;
+import models.generic.RemoteResource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Maps the remote ids of a {@link ReadMostly} remote resource to the ids of its entities.
+ * <p>
+ * The {@link RemoteResource} hierarchy is not held in the second level cache, as hibernate
+ * would share its region with write heavy subclasses like virtual machines and instances.
+ * Instead a lookup by remote id of these types is resolved to the primary key from this
+ * cache. The entries are not invalidated on write, the loaded entity is checked to still
+ * carry the remote id instead.
+ */
+final class RemoteIdCache {
+
+    private static final int MAX_ENTRIES = 20000;
+
+    private static final ConcurrentMap<Class<?>, RemoteIdCache> CACHES =
+        new ConcurrentHashMap<>();
+
+    private final Cache<String, Long> ids =
+        CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    private RemoteIdCache() {
+    }
+
+    /**
+     * @return the cache of the type, shared by all repositories of the type, or null if
+     * the type is not read mostly.
+     */
+    @Nullable static RemoteIdCache of(Class<? extends RemoteResource> type) {
+        checkNotNull(type, "type is null.");
+        if (!type.isAnnotationPresent(ReadMostly.class)) {
+            return null;
+        }
+        return CACHES.computeIfAbsent(type, t -> new RemoteIdCache());
+    }
+
+    @Nullable Long get(String remoteId) {
+        return ids.getIfPresent(remoteId);
+    }
+
+    /**
+     * Caches the id of the resource, if it has a remote id.
+     */
+    void put(RemoteResource resource) {
+        checkNotNull(resource, "resource is null.");
+        resource.remoteId().ifPresent(remoteId -> ids.put(remoteId, resource.getId()));
+    }
+
+    void invalidate(String remoteId) {
+        ids.invalidate(remoteId);
+    }
+}
@@ -18,6 +18,8 @@
 
 package models.service;
 
+import java.util.List;
+
 import models.generic.RemoteResource;
 
 /**
@@ -27,4 +29,6 @@ public interface RemoteModelService<T extends RemoteResource> extends ModelServi
 
     T getByRemoteId(String remoteId);
 
+    List<T> getAllWithCredentials();
+
 }
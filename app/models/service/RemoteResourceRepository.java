@@ -18,6 +18,8 @@
 
 package models.service;
 
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 import models.generic.RemoteResource;
@@ -29,4 +31,13 @@ interface RemoteResourceRepository<T extends RemoteResource> extends ModelReposi
 
     @Nullable T findByRemoteId(String remoteId);
 
+    /**
+     * Loads all entities in a single query. For resources scoped to a cloud the
+     * cloud credentials are fetched with the same query, so that they can be inspected
+     * without lazy loading one collection per entity.
+     *
+     * @return all entities of the type.
+     */
+    List<T> findAllWithCredentials();
+
 }
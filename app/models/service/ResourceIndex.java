@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import models.generic.Model;
+import models.generic.ModelWithExternalReference;
+import models.generic.RemoteResource;
+import org.hibernate.SQLQuery;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.persistence.NonUniqueResultException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Lookup table mapping the uuid and the remote id of the entities of the table per class
+ * hierarchies {@link RemoteResource} and {@link ModelWithExternalReference} to their
+ * concrete type and id.
+ * <p>
+ * Hibernate resolves a lookup over a type with subclasses by querying the union of all
+ * subclass tables. For these types the lookup is instead a single probe of the index,
+ * followed by a load of the concrete type by its primary key. Lookups of types without
+ * subclasses query their table directly and do not use the index.
+ * <p>
+ * The table is created by the schema migrations and maintained on write by the
+ * {@link ResourceIndexIntegrator}.
+ */
+public final class ResourceIndex<T extends Model> {
+
+    public static final String TABLE = "resource_index";
+
+    /**
+     * The root entities of the indexed hierarchies.
+     */
+    private static final Set<String> ROOTS = ImmutableSet
+        .of(RemoteResource.class.getName(), ModelWithExternalReference.class.getName());
+
+    private static final Map<Class<?>, ResourceIndex<?>> INDEXES = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    /**
+     * The entity names of the type and its subclasses, empty if the index is not used for
+     * the type. Resolved on first use, as the session factory is required.
+     */
+    @Nullable private volatile List<String> entityNames;
+    /**
+     * The root entity of the type, published by the write to {@link #entityNames}.
+     */
+    @Nullable private String root;
+
+    private ResourceIndex(Class<T> type) {
+        this.type = type;
+    }
+
+    static <T extends Model> ResourceIndex<T> of(Class<T> type) {
+        checkNotNull(type, "type is null.");
+        //noinspection unchecked
+        return (ResourceIndex<T>) INDEXES.computeIfAbsent(type, t -> new ResourceIndex<>(type));
+    }
+
+    /**
+     * @return whether changes to entities of the persister are written to the index.
+     */
+    static boolean isIndexed(EntityPersister persister) {
+        return ROOTS.contains(persister.getRootEntityName());
+    }
+
+    private List<String> entityNames(Session session) {
+        List<String> names = entityNames;
+        if (names == null) {
+            final EntityPersister persister =
+                ((SessionFactoryImplementor) session.getSessionFactory())
+                    .getEntityPersister(type.getName());
+            final Set<?> subclasses = persister.getEntityMetamodel().getSubclassEntityNames();
+            root = persister.getRootEntityName();
+            if (isIndexed(persister) && subclasses.size() > 1) {
+                final ImmutableList.Builder<String> builder = ImmutableList.builder();
+                subclasses.forEach(subclass -> builder.add((String) subclass));
+                names = builder.build();
+            } else {
+                names = ImmutableList.of();
+            }
+            entityNames = names;
+        }
+        return names;
+    }
+
+    /**
+     * @return whether lookups of the type are resolved using the index.
+     */
+    boolean covers(Session session) {
+        return !entityNames(session).isEmpty();
+    }
+
+    @Nullable T findById(Session session, Long id) {
+        checkNotNull(id, "id is null.");
+        return load(session, probe(session, "resourceId = :resourceId", "resourceId", id));
+    }
+
+    @Nullable T findByUuid(Session session, String uuid) {
+        checkNotNull(uuid, "uuid is null.");
+        return load(session, probe(session, "uuid = :uuid", "uuid", uuid));
+    }
+
+    @Nullable T findByRemoteId(Session session, String remoteId) {
+        checkNotNull(remoteId, "remoteId is null.");
+        return load(session, probe(session, "remoteId = :remoteId", "remoteId", remoteId));
+    }
+
+    /**
+     * Loads the entities with one query per concrete type.
+     */
+    List<T> findByIds(Session session, Collection<Long> ids) {
+        checkNotNull(ids, "ids is null.");
+        if (ids.isEmpty()) {
+            return ImmutableList.of();
+        }
+        final ListMultimap<String, Long> idsByType = LinkedListMultimap.create();
+        for (Object[] row : probe(session, "resourceId in (:resourceId)", "resourceId", ids)) {
+            idsByType.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        final List<T> entities = new ArrayList<>(ids.size());
+        for (Map.Entry<String, Collection<Long>> entry : idsByType.asMap().entrySet()) {
+            for (Object entity : session.createQuery(
+                String.format("select r from %s r where r.id in (:ids)", entry.getKey()))
+                .setParameterList("ids", entry.getValue()).list()) {
+                entities.add(type.cast(entity));
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Queries the concrete types and ids of the matching entries. The query is synchronized
+     * with the tables of the type, so pending changes to them are flushed and indexed first.
+     */
+    private List<Object[]> probe(Session session, String criterion, String parameter,
+        Object value) {
+        final SQLQuery query = session.createSQLQuery(String
+            .format("select type, resourceId from %s where root = :root and %s"
+                + " and type in (:types)", TABLE, criterion));
+        query.addSynchronizedEntityClass(type).setParameterList("types", entityNames(session))
+            .setParameter("root", root);
+        if (value instanceof Collection) {
+            query.setParameterList(parameter, (Collection<?>) value);
+        } else {
+            query.setParameter(parameter, value);
+        }
+        //noinspection unchecked
+        return query.list();
+    }
+
+    @Nullable private T load(Session session, List<Object[]> entries) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        if (entries.size() > 1) {
+            throw new NonUniqueResultException(
+                String.format("%s entries of %s match.", entries.size(), type.getSimpleName()));
+        }
+        final Object[] entry = entries.get(0);
+        return type.cast(session.get((String) entry[0], ((Number) entry[1]).longValue()));
+    }
+
+    static void insert(Connection connection, EntityPersister persister, Long id, String uuid,
+        @Nullable String remoteId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into " + TABLE
+            + " (root, resourceId, type, uuid, remoteId) values (?, ?, ?, ?, ?)"
+            + " on duplicate key update remoteId = values(remoteId)")) {
+            statement.setString(1, persister.getRootEntityName());
+            statement.setLong(2, id);
+            statement.setString(3, persister.getEntityName());
+            statement.setString(4, uuid);
+            setRemoteId(statement, 5, remoteId);
+            statement.executeUpdate();
+        }
+    }
+
+    static void updateRemoteId(Connection connection, EntityPersister persister, Long id,
+        @Nullable String remoteId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "update " + TABLE + " set remoteId = ? where root = ? and resourceId = ?")) {
+            setRemoteId(statement, 1, remoteId);
+            statement.setString(2, persister.getRootEntityName());
+            statement.setLong(3, id);
+            statement.executeUpdate();
+        }
+    }
+
+    static void delete(Connection connection, EntityPersister persister, Long id)
+        throws SQLException {
+        try (PreparedStatement statement = connection
+            .prepareStatement("delete from " + TABLE + " where root = ? and resourceId = ?")) {
+            statement.setString(1, persister.getRootEntityName());
+            statement.setLong(2, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void setRemoteId(PreparedStatement statement, int index,
+        @Nullable String remoteId) throws SQLException {
+        if (remoteId == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, remoteId);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import models.generic.RemoteResource;
+import models.generic.Unique;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.metamodel.source.MetadataImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import javax.annotation.Nullable;
+
+/**
+ * Hibernate integrator maintaining the {@link ResourceIndex}.
+ * <p>
+ * Registered using the service loader (META-INF/services). The index is written with the
+ * connection of the session, so it is committed or rolled back together with the entity.
+ */
+public class ResourceIndexIntegrator implements Integrator {
+
+    @Override public void integrate(Configuration configuration,
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        register(serviceRegistry);
+    }
+
+    @Override public void integrate(MetadataImplementor metadata,
+        SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        register(serviceRegistry);
+    }
+
+    @Override public void disintegrate(SessionFactoryImplementor sessionFactory,
+        SessionFactoryServiceRegistry serviceRegistry) {
+        //intentionally left empty
+    }
+
+    private static void register(SessionFactoryServiceRegistry serviceRegistry) {
+        final EventListenerRegistry registry =
+            serviceRegistry.getService(EventListenerRegistry.class);
+        final IndexListener listener = new IndexListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    private static class IndexListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Nullable private static String remoteId(Object entity) {
+            return entity instanceof RemoteResource ?
+                ((RemoteResource) entity).remoteId().orElse(null) :
+                null;
+        }
+
+        /**
+         * @return whether the remote id is among the changed properties. Without dirty
+         * properties, e.g. when updating a detached entity, every property may have changed.
+         */
+        private static boolean isRemoteIdChanged(PostUpdateEvent event) {
+            if (!(event.getEntity() instanceof RemoteResource)) {
+                return false;
+            }
+            final int[] dirtyProperties = event.getDirtyProperties();
+            if (dirtyProperties == null) {
+                return true;
+            }
+            final Integer remoteId =
+                event.getPersister().getEntityMetamodel().getPropertyIndexOrNull("remoteId");
+            if (remoteId == null) {
+                return false;
+            }
+            for (int dirtyProperty : dirtyProperties) {
+                if (dirtyProperty == remoteId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override public void onPostInsert(PostInsertEvent event) {
+            final EntityPersister persister = event.getPersister();
+            if (!ResourceIndex.isIndexed(persister)) {
+                return;
+            }
+            final Object entity = event.getEntity();
+            event.getSession().doWork(connection -> ResourceIndex
+                .insert(connection, persister, (Long) event.getId(),
+                    ((Unique) entity).getUuid(), remoteId(entity)));
+        }
+
+        @Override public void onPostUpdate(PostUpdateEvent event) {
+            final EntityPersister persister = event.getPersister();
+            if (!ResourceIndex.isIndexed(persister) || !isRemoteIdChanged(event)) {
+                return;
+            }
+            event.getSession().doWork(connection -> ResourceIndex
+                .updateRemoteId(connection, persister, (Long) event.getId(),
+                    remoteId(event.getEntity())));
+        }
+
+        @Override public void onPostDelete(PostDeleteEvent event) {
+            final EntityPersister persister = event.getPersister();
+            if (!ResourceIndex.isIndexed(persister)) {
+                return;
+            }
+            event.getSession().doWork(
+                connection -> ResourceIndex.delete(connection, persister, (Long) event.getId()));
+        }
+
+        @Override public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+}
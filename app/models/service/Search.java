@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A search for entities: a conjunction of criteria on attributes, with an optional sort
+ * order and limit.
+ * <p>
+ * Values are given as strings and parsed to the type of the attribute. Attributes
+ * referencing another entity are compared by the id of the referenced entity.
+ */
+public class Search {
+
+    /**
+     * The comparison of an attribute with a value.
+     */
+    public enum Operator {
+        EQ, LT, LTE, GT, GTE,
+        /**
+         * The string attribute starts with the value.
+         */
+        PREFIX;
+
+        /**
+         * @param name the lower case name of the operator, e.g. gte.
+         * @return the operator, empty if there is no operator of the name.
+         */
+        public static Optional<Operator> of(String name) {
+            checkNotNull(name, "name is null.");
+            for (Operator operator : values()) {
+                if (operator.name().toLowerCase().equals(name)) {
+                    return Optional.of(operator);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A single criterion of the search.
+     */
+    public static class Criterion {
+
+        private final String attribute;
+        private final Operator operator;
+        private final String value;
+
+        private Criterion(String attribute, Operator operator, String value) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public String attribute() {
+            return attribute;
+        }
+
+        public Operator operator() {
+            return operator;
+        }
+
+        public String value() {
+            return value;
+        }
+    }
+
+    /**
+     * The sort order by an attribute.
+     */
+    public static class Order {
+
+        private final String attribute;
+        private final boolean ascending;
+
+        private Order(String attribute, boolean ascending) {
+            this.attribute = attribute;
+            this.ascending = ascending;
+        }
+
+        public String attribute() {
+            return attribute;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+    }
+
+    private final List<Criterion> criteria;
+    private final List<Order> orders;
+    @Nullable private final Integer limit;
+
+    private Search(List<Criterion> criteria, List<Order> orders, @Nullable Integer limit) {
+        this.criteria = criteria;
+        this.orders = orders;
+        this.limit = limit;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public List<Criterion> criteria() {
+        return criteria;
+    }
+
+    /**
+     * @return the sort order, by the first order first.
+     */
+    public List<Order> orders() {
+        return orders;
+    }
+
+    public Optional<Integer> limit() {
+        return Optional.ofNullable(limit);
+    }
+
+    public static class Builder {
+
+        private final ImmutableList.Builder<Criterion> criteria = ImmutableList.builder();
+        private final ImmutableList.Builder<Order> orders = ImmutableList.builder();
+        @Nullable private Integer limit;
+
+        private Builder() {
+        }
+
+        public Builder where(String attribute, Operator operator, String value) {
+            checkNotNull(attribute, "attribute is null.");
+            checkNotNull(operator, "operator is null.");
+            checkNotNull(value, "value is null.");
+            criteria.add(new Criterion(attribute, operator, value));
+            return this;
+        }
+
+        public Builder orderBy(String attribute, boolean ascending) {
+            checkNotNull(attribute, "attribute is null.");
+            orders.add(new Order(attribute, ascending));
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            checkArgument(limit > 0, "limit needs to be positive.");
+            this.limit = limit;
+            return this;
+        }
+
+        public Search build() {
+            return new Search(criteria.build(), orders.build(), limit);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.github.drapostolos.typeparser.TypeParser;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Primitives;
+import models.generic.Model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Compiles {@link Search}es on one entity type to JPQL with bound parameters.
+ * <p>
+ * The fields of the type are collected once on construction. The JPQL of a search only
+ * depends on its shape, i.e. the attributes, operators and order, so it is cached per
+ * shape and hibernate reuses its query plan for every search of the same shape. All
+ * predicates compare the plain column, prefixes become a like without leading wildcard,
+ * so every predicate can use an index of its column.
+ *
+ * @param <T> the type of the entity.
+ */
+class SearchCompiler<T extends Model> {
+
+    private static final TypeParser TYPE_PARSER = TypeParser.newBuilder().build();
+    private static final int MAX_TEMPLATES = 256;
+    private static final char LIKE_ESCAPE = '!';
+
+    /**
+     * A compiled search, the JPQL query and the values of its parameters.
+     */
+    static class CompiledSearch {
+
+        private final String query;
+        private final List<Object> parameters;
+
+        private CompiledSearch(String query, List<Object> parameters) {
+            this.query = query;
+            this.parameters = parameters;
+        }
+
+        String query() {
+            return query;
+        }
+
+        /**
+         * @return the parameter values, the value at index i is bound to parameter pi.
+         */
+        List<Object> parameters() {
+            return parameters;
+        }
+    }
+
+    private static final ConcurrentMap<Class<?>, SearchCompiler<?>> COMPILERS =
+        new ConcurrentHashMap<>();
+
+    private final String entityName;
+    private final Map<String, Class<?>> fieldTypes;
+    private final Cache<String, String> templates =
+        CacheBuilder.newBuilder().maximumSize(MAX_TEMPLATES).build();
+
+    private SearchCompiler(Class<T> type) {
+        this.entityName = type.getName();
+        this.fieldTypes = fieldTypes(type);
+    }
+
+    /**
+     * @return the compiler of the type, shared by all repositories of the type.
+     */
+    static <T extends Model> SearchCompiler<T> of(Class<T> type) {
+        checkNotNull(type, "type is null.");
+        //noinspection unchecked
+        return (SearchCompiler<T>) COMPILERS
+            .computeIfAbsent(type, c -> new SearchCompiler<>(type));
+    }
+
+    /**
+     * Collects the fields of the hierarchy, fields of subclasses hiding the ones of their
+     * superclasses.
+     */
+    private static Map<String, Class<?>> fieldTypes(Class<?> type) {
+        final Map<String, Class<?>> fieldTypes = new HashMap<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    fieldTypes.putIfAbsent(field.getName(), field.getType());
+                }
+            }
+        }
+        return ImmutableMap.copyOf(fieldTypes);
+    }
+
+    CompiledSearch compile(Search search) throws IllegalColumnException {
+        checkNotNull(search, "search is null.");
+        final StringBuilder shape = new StringBuilder();
+        final List<Object> parameters = new ArrayList<>(search.criteria().size());
+        for (Search.Criterion criterion : search.criteria()) {
+            final Class<?> fieldType = fieldType(criterion.attribute());
+            checkOperator(criterion, fieldType);
+            parameters.add(parameter(criterion, fieldType));
+            shape.append(criterion.attribute()).append(' ').append(criterion.operator())
+                .append(',');
+        }
+        shape.append('|');
+        for (Search.Order order : search.orders()) {
+            fieldType(order.attribute());
+            shape.append(order.attribute()).append(order.isAscending() ? " asc" : " desc")
+                .append(',');
+        }
+
+        final String key = shape.toString();
+        String query = templates.getIfPresent(key);
+        if (query == null) {
+            query = query(search);
+            templates.put(key, query);
+        }
+        return new CompiledSearch(query, Collections.unmodifiableList(parameters));
+    }
+
+    private Class<?> fieldType(String attribute) throws IllegalColumnException {
+        final Class<?> fieldType = fieldTypes.get(attribute);
+        if (fieldType == null) {
+            throw new IllegalColumnException(
+                String.format("Type %s does not hold column %s", entityName, attribute));
+        }
+        if (Collection.class.isAssignableFrom(fieldType) || Map.class
+            .isAssignableFrom(fieldType)) {
+            throw new IllegalColumnException(
+                String.format("Column %s of type %s is a collection.", attribute, entityName));
+        }
+        return fieldType;
+    }
+
+    private static void checkOperator(Search.Criterion criterion, Class<?> fieldType)
+        throws IllegalColumnException {
+        switch (criterion.operator()) {
+            case EQ:
+                return;
+            case PREFIX:
+                if (!String.class.equals(fieldType)) {
+                    throw new IllegalColumnException(String
+                        .format("Prefix search requires a string column, %s is not.",
+                            criterion.attribute()));
+                }
+                return;
+            default:
+                final Class<?> wrapped = Primitives.wrap(fieldType);
+                if (!Comparable.class.isAssignableFrom(wrapped) || wrapped.isEnum()) {
+                    throw new IllegalColumnException(String
+                        .format("Range search requires an ordered column, %s is not.",
+                            criterion.attribute()));
+                }
+        }
+    }
+
+    private static Object parameter(Search.Criterion criterion, Class<?> fieldType)
+        throws IllegalColumnException {
+        if (criterion.operator() == Search.Operator.PREFIX) {
+            return escapeLike(criterion.value()) + '%';
+        }
+        final Class<?> valueType = isReference(fieldType) ? Long.class : fieldType;
+        try {
+            return TYPE_PARSER.parseType(criterion.value(), valueType);
+        } catch (RuntimeException e) {
+            throw new IllegalColumnException(String
+                .format("Value %s of column %s is no %s.", criterion.value(),
+                    criterion.attribute(), valueType.getSimpleName()), e);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static boolean isReference(Class<?> fieldType) {
+        return Model.class.isAssignableFrom(fieldType);
+    }
+
+    private String path(String attribute) {
+        return isReference(fieldTypes.get(attribute)) ?
+            String.format("e.%s.id", attribute) :
+            String.format("e.%s", attribute);
+    }
+
+    private String query(Search search) {
+        final StringBuilder query =
+            new StringBuilder(String.format("select e from %s e", entityName));
+        final List<Search.Criterion> criteria = search.criteria();
+        for (int i = 0; i < criteria.size(); i++) {
+            query.append(i == 0 ? " where " : " and ")
+                .append(predicate(criteria.get(i), "p" + i));
+        }
+        if (!search.orders().isEmpty()) {
+            boolean orderedById = false;
+            query.append(" order by ");
+            for (Search.Order order : search.orders()) {
+                query.append(path(order.attribute()))
+                    .append(order.isAscending() ? " asc, " : " desc, ");
+                orderedById |= "id".equals(order.attribute());
+            }
+            if (orderedById) {
+                query.setLength(query.length() - 2);
+            } else {
+                // makes the order total, so limited results are stable
+                query.append("e.id asc");
+            }
+        }
+        return query.toString();
+    }
+
+    private String predicate(Search.Criterion criterion, String parameter) {
+        final String path = path(criterion.attribute());
+        switch (criterion.operator()) {
+            case EQ:
+                return String.format("%s = :%s", path, parameter);
+            case LT:
+                return String.format("%s < :%s", path, parameter);
+            case LTE:
+                return String.format("%s <= :%s", path, parameter);
+            case GT:
+                return String.format("%s > :%s", path, parameter);
+            case GTE:
+                return String.format("%s >= :%s", path, parameter);
+            case PREFIX:
+                return String
+                    .format("%s like :%s escape '%s'", path, parameter, LIKE_ESCAPE);
+            default:
+                throw new AssertionError("Unknown operator " + criterion.operator());
+        }
+    }
+}
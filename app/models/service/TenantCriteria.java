@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import models.CloudCredential;
+import models.Instance;
+import models.VirtualMachine;
+import models.generic.RemoteResourceInCloud;
+
+import java.util.Optional;
+
+/**
+ * JPQL criteria restricting an entity, aliased as r, to the tenants given by the
+ * :tenants parameter.
+ */
+class TenantCriteria {
+
+    private TenantCriteria() {
+        throw new AssertionError("Do not instantiate.");
+    }
+
+    /**
+     * @param type the type of the entity.
+     * @return the criterion, empty if entities of the type are not owned by tenants.
+     */
+    static Optional<String> of(Class<?> type) {
+        if (CloudCredential.class.isAssignableFrom(type) || Instance.class
+            .isAssignableFrom(type)) {
+            return Optional.of("r.tenant in (:tenants)");
+        }
+        if (VirtualMachine.class.isAssignableFrom(type)) {
+            return Optional.of("r.owner.tenant in (:tenants)");
+        }
+        if (RemoteResourceInCloud.class.isAssignableFrom(type)) {
+            //hardware, images and locations belong to the tenants of their credentials
+            return Optional.of("exists (select c.id from CloudCredential c "
+                + "where c member of r.cloudCredentials and c.tenant in (:tenants))");
+        }
+        return Optional.empty();
+    }
+}
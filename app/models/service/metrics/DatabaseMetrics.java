@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.metrics;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import play.Logger;
+import play.libs.Json;
+import util.logging.Loggers;
+
+/**
+ * Metrics of the database access.
+ * <p>
+ * They are recorded by the connection provider and the statistics of hibernate, which are
+ * instantiated by hibernate and not by guice, so the metrics are held statically.
+ */
+public final class DatabaseMetrics {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.DATABASE);
+
+    /**
+     * Matches the MBeans HikariCP registers for its pools if registerMbeans is enabled.
+     */
+    private static final String POOL_MBEANS = "com.zaxxer.hikari:type=Pool (*)";
+
+    private static final LatencyHistogram CONNECTION_ACQUIRE = new LatencyHistogram();
+    private static final LongAdder SLOW_QUERIES = new LongAdder();
+
+    private DatabaseMetrics() {
+        throw new AssertionError("Do not instantiate");
+    }
+
+    /**
+     * @param nanos the time it took to acquire a connection from the pool.
+     */
+    public static void connectionAcquired(long nanos) {
+        CONNECTION_ACQUIRE.record(nanos);
+    }
+
+    static void slowQueryExecuted() {
+        SLOW_QUERIES.increment();
+    }
+
+    public static LatencyHistogram connectionAcquire() {
+        return CONNECTION_ACQUIRE;
+    }
+
+    public static long slowQueries() {
+        return SLOW_QUERIES.sum();
+    }
+
+    /**
+     * @return the active, idle, total connections and the threads waiting for a connection
+     * of every connection pool.
+     */
+    public static ArrayNode pools() {
+        final ArrayNode pools = Json.newArray();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName pool : server.queryNames(new ObjectName(POOL_MBEANS), null)) {
+                final String type = pool.getKeyProperty("type");
+                pools.addObject()
+                    .put("name", type.substring(type.indexOf('(') + 1, type.lastIndexOf(')')))
+                    .put("active", (Integer) server.getAttribute(pool, "ActiveConnections"))
+                    .put("idle", (Integer) server.getAttribute(pool, "IdleConnections"))
+                    .put("total", (Integer) server.getAttribute(pool, "TotalConnections"))
+                    .put("waiting",
+                        (Integer) server.getAttribute(pool, "ThreadsAwaitingConnection"));
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Could not read the connection pool metrics.", e);
+        }
+        return pools;
+    }
+}
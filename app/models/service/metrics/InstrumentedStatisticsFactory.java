@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.metrics;
+
+import com.typesafe.config.ConfigFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.ConcurrentStatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import java.util.concurrent.TimeUnit;
+
+import play.Logger;
+import util.ConfigurationConstants;
+import util.logging.Loggers;
+
+/**
+ * Builds the hibernate statistics, logging every query taking at least
+ * {@link ConfigurationConstants#DB_SLOW_QUERY_THRESHOLD}. A threshold of 0 disables the
+ * slow query log.
+ */
+public class InstrumentedStatisticsFactory implements StatisticsFactory {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.DATABASE);
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new InstrumentedStatistics(sessionFactory, ConfigFactory.load()
+            .getDuration(ConfigurationConstants.DB_SLOW_QUERY_THRESHOLD, TimeUnit.MILLISECONDS));
+    }
+
+    private static class InstrumentedStatistics extends ConcurrentStatisticsImpl {
+
+        private final long slowQueryThresholdMillis;
+
+        private InstrumentedStatistics(SessionFactoryImplementor sessionFactory,
+            long slowQueryThresholdMillis) {
+            super(sessionFactory);
+            this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        }
+
+        @Override public void queryExecuted(String hql, int rows, long time) {
+            super.queryExecuted(hql, rows, time);
+            if (slowQueryThresholdMillis > 0 && time >= slowQueryThresholdMillis) {
+                DatabaseMetrics.slowQueryExecuted();
+                LOGGER.warn(String
+                    .format("Slow query took %s ms and returned %s rows: %s", time, rows, hql));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.metrics;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import play.libs.Json;
+
+/**
+ * Lock free histogram of latencies with fixed, roughly exponential buckets.
+ */
+public class LatencyHistogram {
+
+    /**
+     * The inclusive upper bounds of the buckets in milliseconds, a last bucket holds all
+     * larger latencies.
+     */
+    private static final long[] BOUNDS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS.length && millis > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return the count, mean and maximum in milliseconds and the count per bucket, keyed by
+     * the upper bound of the bucket.
+     */
+    public ObjectNode toJson() {
+        final long count = this.count.sum();
+        final ObjectNode result = Json.newObject();
+        result.put("count", count);
+        result.put("meanMillis", count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count);
+        result.put("maxMillis", maxNanos.get() / NANOS_PER_MILLI);
+        final ObjectNode buckets = result.putObject("buckets");
+        for (int i = 0; i < BOUNDS.length; i++) {
+            buckets.put(String.valueOf(BOUNDS[i]), this.buckets[i].sum());
+        }
+        buckets.put("inf", this.buckets[BOUNDS.length].sum());
+        return result;
+    }
+}
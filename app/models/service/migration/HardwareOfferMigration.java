@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import models.HardwareOffer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Migration merging duplicate {@link HardwareOffer}s and creating the unique index on their
+ * key.
+ * <p>
+ * Of the offers sharing a key the one with the lowest id is kept, the hardware of the others
+ * is moved to it. The keys are computed by {@link HardwareOffer#key(Integer, Long, Float)},
+ * so they match the keys of offers created later on.
+ */
+class HardwareOfferMigration implements SchemaMigration {
+
+    private static final String INDEX = "UK_HardwareOffer_offerKey";
+
+    private final int version;
+    private final String description;
+
+    HardwareOfferMigration(int version, String description) {
+        checkArgument(version > 0, "version needs to be positive.");
+        checkNotNull(description, "description is null.");
+        this.version = version;
+        this.description = description;
+    }
+
+    @Override public int version() {
+        return version;
+    }
+
+    @Override public String description() {
+        return description;
+    }
+
+    @Override public void migrate(Connection connection) throws SQLException {
+        if (!IndexMigration.tableExists(connection, "HardwareOffer")) {
+            return;
+        }
+
+        final Map<String, Long> kept = new HashMap<>();
+        try (Statement select = connection.createStatement();
+             ResultSet resultSet = select.executeQuery(
+                 "select id, numberOfCores, mbOfRam, localDiskSpace from HardwareOffer"
+                     + " order by id");
+             PreparedStatement moveHardware = connection.prepareStatement(
+                 "update Hardware set hardwareOffer_id = ? where hardwareOffer_id = ?");
+             PreparedStatement delete = connection
+                 .prepareStatement("delete from HardwareOffer where id = ?");
+             PreparedStatement setKey = connection
+                 .prepareStatement("update HardwareOffer set offerKey = ? where id = ?")) {
+            while (resultSet.next()) {
+                final long id = resultSet.getLong("id");
+                final float localDiskSpace = resultSet.getFloat("localDiskSpace");
+                final boolean noDiskSpace = resultSet.wasNull();
+                final String key = HardwareOffer
+                    .key(resultSet.getInt("numberOfCores"), resultSet.getLong("mbOfRam"),
+                        noDiskSpace ? null : localDiskSpace);
+                final Long keptId = kept.putIfAbsent(key, id);
+                if (keptId == null) {
+                    setKey.setString(1, key);
+                    setKey.setLong(2, id);
+                    setKey.executeUpdate();
+                } else {
+                    moveHardware.setLong(1, keptId);
+                    moveHardware.setLong(2, id);
+                    moveHardware.executeUpdate();
+                    delete.setLong(1, id);
+                    delete.executeUpdate();
+                }
+            }
+        }
+
+        if (!isIndexed(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String
+                    .format("create unique index %s on HardwareOffer (offerKey)", INDEX));
+            }
+        }
+    }
+
+    private static boolean isIndexed(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "select 1 from information_schema.statistics where table_schema = database()"
+                + " and table_name = 'HardwareOffer' and index_name = ?")) {
+            statement.setString(1, INDEX);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+}
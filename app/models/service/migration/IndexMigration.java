@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import com.google.common.collect.ImmutableList;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Migration creating indexes on single columns.
+ * <p>
+ * An index is only created if no index starting with the column exists, e.g. the index
+ * backing a unique or foreign key constraint created by hibernate.
+ */
+class IndexMigration implements SchemaMigration {
+
+    private final int version;
+    private final String description;
+    private final List<IndexDefinition> indexes;
+
+    private IndexMigration(int version, String description, List<IndexDefinition> indexes) {
+        checkArgument(version > 0, "version needs to be positive.");
+        checkNotNull(description, "description is null.");
+        this.version = version;
+        this.description = description;
+        this.indexes = indexes;
+    }
+
+    static Builder builder(int version, String description) {
+        return new Builder(version, description);
+    }
+
+    @Override public int version() {
+        return version;
+    }
+
+    @Override public String description() {
+        return description;
+    }
+
+    @Override public void migrate(Connection connection) throws SQLException {
+        for (IndexDefinition index : indexes) {
+            if (!tableExists(connection, index.table) || isIndexed(connection, index)) {
+                continue;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String
+                    .format("create index %s on %s (%s%s)", index.name, index.table, index.column,
+                        index.prefixLength == null ? "" : "(" + index.prefixLength + ")"));
+            }
+        }
+    }
+
+    static boolean tableExists(Connection connection, String table)
+        throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "select 1 from information_schema.tables where table_schema = database()"
+                + " and table_name = ?")) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static boolean isIndexed(Connection connection, IndexDefinition index)
+        throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "select 1 from information_schema.statistics where table_schema = database()"
+                + " and table_name = ? and column_name = ? and seq_in_index = 1")) {
+            statement.setString(1, index.table);
+            statement.setString(2, index.column);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static class IndexDefinition {
+
+        private final String table;
+        private final String name;
+        private final String column;
+        @Nullable private final Integer prefixLength;
+
+        private IndexDefinition(String table, String name, String column,
+            @Nullable Integer prefixLength) {
+            this.table = checkNotNull(table, "table is null.");
+            this.name = checkNotNull(name, "name is null.");
+            this.column = checkNotNull(column, "column is null.");
+            this.prefixLength = prefixLength;
+        }
+    }
+
+    static class Builder {
+
+        private final int version;
+        private final String description;
+        private final ImmutableList.Builder<IndexDefinition> indexes = ImmutableList.builder();
+
+        private Builder(int version, String description) {
+            this.version = version;
+            this.description = description;
+        }
+
+        Builder index(String table, String column) {
+            indexes.add(new IndexDefinition(table, name(table, column), column, null));
+            return this;
+        }
+
+        /**
+         * Indexes only a prefix of the column, required for text columns.
+         */
+        Builder prefixIndex(String table, String column, int prefixLength) {
+            checkArgument(prefixLength > 0, "prefixLength needs to be positive.");
+            indexes.add(new IndexDefinition(table, name(table, column), column, prefixLength));
+            return this;
+        }
+
+        private static String name(String table, String column) {
+            return String.format("IDX_%s_%s", table, column);
+        }
+
+        IndexMigration build() {
+            return new IndexMigration(version, description, indexes.build());
+        }
+    }
+}
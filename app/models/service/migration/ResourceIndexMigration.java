@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import com.google.common.collect.ImmutableList;
+import models.generic.Model;
+import models.generic.RemoteResource;
+import models.service.ResourceIndex;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Migration creating the {@link ResourceIndex} table and filling it with the existing
+ * entities of the indexed hierarchies.
+ * <p>
+ * Hibernate names the table of an entity after its class, so the concrete classes are
+ * passed instead of table names.
+ */
+class ResourceIndexMigration implements SchemaMigration {
+
+    private final int version;
+    private final String description;
+    private final List<IndexedType> types;
+
+    private ResourceIndexMigration(int version, String description, List<IndexedType> types) {
+        checkArgument(version > 0, "version needs to be positive.");
+        checkNotNull(description, "description is null.");
+        this.version = version;
+        this.description = description;
+        this.types = types;
+    }
+
+    static Builder builder(int version, String description) {
+        return new Builder(version, description);
+    }
+
+    @Override public int version() {
+        return version;
+    }
+
+    @Override public String description() {
+        return description;
+    }
+
+    @Override public void migrate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + ResourceIndex.TABLE
+                + " (root varchar(255) not null, resourceId bigint not null,"
+                + " type varchar(255) not null, uuid varchar(255) not null,"
+                + " remoteId varchar(255), primary key (root, resourceId),"
+                + " unique key UK_resource_index_uuid (uuid),"
+                + " key IDX_resource_index_remoteId (remoteId))");
+        }
+        for (IndexedType type : types) {
+            if (!IndexMigration.tableExists(connection, type.table)) {
+                continue;
+            }
+            //ignores the entities already indexed by a previous, failed run
+            try (PreparedStatement statement = connection.prepareStatement(String.format(
+                "insert ignore into %s (root, resourceId, type, uuid, remoteId)"
+                    + " select ?, id, ?, uuid, %s from %s", ResourceIndex.TABLE,
+                type.hasRemoteId ? "remoteId" : "null", type.table))) {
+                statement.setString(1, type.root);
+                statement.setString(2, type.entity);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static class IndexedType {
+
+        private final String root;
+        private final String entity;
+        private final String table;
+        private final boolean hasRemoteId;
+
+        private IndexedType(Class<? extends Model> root, Class<? extends Model> type) {
+            checkArgument(root.isAssignableFrom(type), "%s is not a subclass of %s.", type,
+                root);
+            this.root = root.getName();
+            this.entity = type.getName();
+            this.table = type.getSimpleName();
+            this.hasRemoteId = RemoteResource.class.isAssignableFrom(type);
+        }
+    }
+
+    static class Builder {
+
+        private final int version;
+        private final String description;
+        private final ImmutableList.Builder<IndexedType> types = ImmutableList.builder();
+
+        private Builder(int version, String description) {
+            this.version = version;
+            this.description = description;
+        }
+
+        /**
+         * Indexes the concrete types of the hierarchy with the given root entity.
+         */
+        @SafeVarargs final Builder hierarchy(Class<? extends Model> root,
+            Class<? extends Model>... types) {
+            checkNotNull(root, "root is null.");
+            for (Class<? extends Model> type : types) {
+                this.types.add(new IndexedType(root, checkNotNull(type, "type is null.")));
+            }
+            return this;
+        }
+
+        ResourceIndexMigration build() {
+            return new ResourceIndexMigration(version, description, types.build());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A versioned change of the database schema, applied once on top of the schema generated by
+ * hibernate.
+ * <p>
+ * Migrations need to be idempotent, as DDL statements are not transactional in MySQL and a
+ * failed migration is retried on the next start.
+ */
+public interface SchemaMigration {
+
+    /**
+     * @return the version of the migration, migrations are applied in ascending order.
+     */
+    int version();
+
+    String description();
+
+    void migrate(Connection connection) throws SQLException;
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+import models.ComponentHorizontalInScalingAction;
+import models.ComponentHorizontalOutScalingAction;
+import models.ComposedMonitor;
+import models.ConstantMonitor;
+import models.Hardware;
+import models.Image;
+import models.Instance;
+import models.KeyPair;
+import models.Location;
+import models.MonitorInstance;
+import models.RawMonitor;
+import models.VirtualMachine;
+import models.generic.ModelWithExternalReference;
+import models.generic.RemoteResource;
+import models.service.ResourceIndex;
+
+/**
+ * The schema migrations and the queries their indexes are meant for.
+ * <p>
+ * New migrations are appended with the next version, applied migrations are never changed.
+ */
+final class SchemaMigrations {
+
+    private SchemaMigrations() {
+        throw new AssertionError("Do not instantiate.");
+    }
+
+    /**
+     * The remote resources looked up by their remote id during the sync.
+     */
+    private static final List<String> REMOTE_RESOURCE_TABLES = ImmutableList
+        .of("Hardware", "Image", "Instance", "KeyPair", "Location", "VirtualMachine");
+
+    static final List<SchemaMigration> MIGRATIONS;
+
+    static {
+        final IndexMigration.Builder hotLookups =
+            IndexMigration.builder(1, "Index hot lookup columns");
+        for (String table : REMOTE_RESOURCE_TABLES) {
+            hotLookups.index(table, "remoteId").index(table, "uuid");
+        }
+        hotLookups.index("Cloud", "uuid").index("CloudCredential", "uuid")
+            .index("FrontendUser", "mail")
+            //the token is a text column, which can only be indexed by a prefix
+            .prefixIndex("ApiAccessToken", "token", 64)
+            .index("ApiAccessToken", "expiresAt")
+            .index("Instance", "virtualMachine_id")
+            .index("MonitorInstance", "virtualMachine_id");
+        final ResourceIndexMigration resourceIndex = ResourceIndexMigration
+            .builder(2, "Index remote resources by uuid and remote id")
+            .hierarchy(RemoteResource.class, Hardware.class, Image.class, Instance.class,
+                KeyPair.class, Location.class, VirtualMachine.class)
+            .hierarchy(ModelWithExternalReference.class, ComponentHorizontalInScalingAction.class,
+                ComponentHorizontalOutScalingAction.class, ComposedMonitor.class,
+                ConstantMonitor.class, MonitorInstance.class, RawMonitor.class).build();
+        final HardwareOfferMigration hardwareOffers =
+            new HardwareOfferMigration(3, "Merge duplicate hardware offers and index their key");
+        MIGRATIONS = ImmutableList.of(hotLookups.build(), resourceIndex, hardwareOffers);
+    }
+
+    /**
+     * Hot queries, checked by explaining them after the migrations, by their description.
+     */
+    static final Map<String, String> HOT_QUERIES = ImmutableMap.<String, String>builder()
+        .put("virtual machine by remote id",
+            "select * from VirtualMachine where remoteId = 'explain'")
+        .put("location by remote id", "select * from Location where remoteId = 'explain'")
+        .put("cloud by uuid", "select * from Cloud where uuid = 'explain'")
+        .put("user by mail", "select * from FrontendUser where mail = 'explain'")
+        .put("api access token by token", "select * from ApiAccessToken where token = 'explain'")
+        .put("expired api access tokens", "select * from ApiAccessToken where expiresAt < 0")
+        .put("instances of virtual machine", "select * from Instance where virtualMachine_id = 0")
+        .put("monitor instances of virtual machine",
+            "select * from MonitorInstance where virtualMachine_id = 0")
+        .put("resource by remote id",
+            "select * from " + ResourceIndex.TABLE + " where remoteId = 'explain'")
+        .put("resource by uuid", "select * from " + ResourceIndex.TABLE + " where uuid = 'explain'")
+        .put("hardware offer by cores and ram",
+            "select * from HardwareOffer where numberOfCores = 0 and mbOfRam = 0")
+        .put("resource by id",
+            "select * from " + ResourceIndex.TABLE + " where root = 'explain' and resourceId = 0")
+        .build();
+
+}
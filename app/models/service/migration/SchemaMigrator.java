@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import play.Logger;
+import play.db.jpa.JPA;
+import play.db.jpa.JPAApi;
+import util.logging.Loggers;
+
+/**
+ * Applies the pending {@link SchemaMigrations} on start, after hibernate updated the schema.
+ * <p>
+ * Applied versions are recorded in the schema_migration table. Afterwards the hot queries
+ * are explained and a warning is logged for every query that can not use an index.
+ */
+@Singleton public class SchemaMigrator {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.DATABASE);
+
+    private static final String TABLE = "schema_migration";
+
+    @Inject SchemaMigrator(JPAApi jpaApi) {
+        jpaApi.withTransaction(() -> JPA.em().unwrap(Session.class).doWork(connection -> {
+            migrate(connection, SchemaMigrations.MIGRATIONS);
+            explain(connection, SchemaMigrations.HOT_QUERIES);
+        }));
+    }
+
+    static void migrate(Connection connection, List<SchemaMigration> migrations)
+        throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + TABLE
+                + " (version int not null primary key, description varchar(255) not null,"
+                + " appliedOn bigint not null)");
+        }
+
+        final Set<Integer> applied = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select version from " + TABLE)) {
+            while (resultSet.next()) {
+                applied.add(resultSet.getInt(1));
+            }
+        }
+
+        migrations.stream().filter(migration -> !applied.contains(migration.version()))
+            .sorted((m1, m2) -> Integer.compare(m1.version(), m2.version()))
+            .forEachOrdered(migration -> {
+                LOGGER.info(String.format("Applying schema migration %s (%s).",
+                    migration.version(), migration.description()));
+                try {
+                    migration.migrate(connection);
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "insert into " + TABLE
+                            + " (version, description, appliedOn) values (?, ?, ?)")) {
+                        statement.setInt(1, migration.version());
+                        statement.setString(2, migration.description());
+                        statement.setLong(3, System.currentTimeMillis());
+                        statement.executeUpdate();
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(String
+                        .format("Schema migration %s (%s) failed.", migration.version(),
+                            migration.description()), e);
+                }
+            });
+    }
+
+    private static void explain(Connection connection, Map<String, String> queries) {
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            try {
+                if (!canUseIndex(connection, query.getValue())) {
+                    LOGGER.warn(String
+                        .format("Query for %s can not use an index: %s", query.getKey(),
+                            query.getValue()));
+                }
+            } catch (SQLException e) {
+                LOGGER.warn(String.format("Could not explain query for %s.", query.getKey()), e);
+            }
+        }
+    }
+
+    /**
+     * Explains the query and checks that every table it reads can be accessed by an index.
+     * <p>
+     * Checks possible_keys instead of key, as a lookup on an empty table uses no key. A
+     * lookup by a unique key that found no row is only reported in the extra column.
+     *
+     * @param connection the connection.
+     * @param query      the query to explain.
+     * @return true if all tables have possible keys.
+     * @throws SQLException if the query could not be explained.
+     */
+    static boolean canUseIndex(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("explain " + query)) {
+            while (resultSet.next()) {
+                final String extra = resultSet.getString("Extra");
+                if (resultSet.getString("possible_keys") == null && (extra == null || !extra
+                    .contains("const table"))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.replica;
+
+import play.libs.F;
+
+/**
+ * Routes the database connections of the current thread either to the primary or to the
+ * read replica.
+ * <p>
+ * Read-only transactions prefer the replica, all other transactions use the primary.
+ * Code that needs to read its own writes, like jobs, runs within {@link #onPrimary(Runnable)}
+ * so even its read-only transactions use the primary.
+ */
+public final class ReplicaRouting {
+
+    private enum Target {
+        PRIMARY, REPLICA, PINNED
+    }
+
+    private static final ThreadLocal<Target> TARGET = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+        throw new AssertionError("Do not instantiate");
+    }
+
+    /**
+     * @return true if the connections of the current thread should use the replica.
+     */
+    static boolean replicaRequested() {
+        return TARGET.get() == Target.REPLICA;
+    }
+
+    /**
+     * Runs the block of a transaction, routing it to the replica if it is read-only.
+     */
+    static <T> T route(boolean readOnly, F.Function0<T> block) throws Throwable {
+        final Target previous = TARGET.get();
+        if (previous == Target.PINNED) {
+            return block.apply();
+        }
+        TARGET.set(readOnly ? Target.REPLICA : Target.PRIMARY);
+        try {
+            return block.apply();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Runs the block with all transactions, including the read-only ones, on the primary.
+     *
+     * @param block the block to run.
+     */
+    public static void onPrimary(Runnable block) {
+        final Target previous = TARGET.get();
+        TARGET.set(Target.PINNED);
+        try {
+            block.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Runs the block with all transactions, including the read-only ones, on the primary.
+     *
+     * @param block the block to run.
+     * @return the result of the block.
+     */
+    public static <T> T onPrimary(F.Function0<T> block) throws Throwable {
+        final Target previous = TARGET.get();
+        TARGET.set(Target.PINNED);
+        try {
+            return block.apply();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(Target previous) {
+        if (previous == null) {
+            TARGET.remove();
+        } else {
+            TARGET.set(previous);
+        }
+    }
+}
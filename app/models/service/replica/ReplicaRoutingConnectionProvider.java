@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.replica;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+
+import models.service.metrics.DatabaseMetrics;
+import play.Logger;
+import util.ConfigurationConstants;
+import util.logging.Loggers;
+
+/**
+ * Connection provider handing out connections of the read replica to the transactions
+ * routed to it by {@link ReplicaRouting}, and connections of the primary data source
+ * otherwise.
+ * <p>
+ * The replica is looked up by {@link ConfigurationConstants#DB_REPLICA_JNDI_NAME}, if
+ * no name is configured all connections come from the primary. The replication lag is
+ * checked at most once per {@link ConfigurationConstants#DB_REPLICA_LAG_CHECK_INTERVAL}.
+ * While the replica lags more than {@link ConfigurationConstants#DB_REPLICA_MAX_LAG}
+ * behind, its replication is stopped or it is not reachable, the primary is used.
+ * <p>
+ * The time to acquire a connection from either pool is recorded in {@link DatabaseMetrics}.
+ */
+public class ReplicaRoutingConnectionProvider extends DatasourceConnectionProviderImpl {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.DATABASE);
+
+    @Nullable private DataSource replica;
+    private long maxLagSeconds;
+    private long lagCheckIntervalMillis;
+
+    private volatile boolean replicaUpToDate = false;
+    private volatile long lagCheckedAt = 0;
+
+    @Override public void configure(Map configValues) {
+        super.configure(configValues);
+        final Config config = ConfigFactory.load();
+        final String jndiName = config.getString(ConfigurationConstants.DB_REPLICA_JNDI_NAME);
+        if (jndiName.isEmpty()) {
+            return;
+        }
+        this.maxLagSeconds =
+            config.getDuration(ConfigurationConstants.DB_REPLICA_MAX_LAG, TimeUnit.SECONDS);
+        this.lagCheckIntervalMillis = config
+            .getDuration(ConfigurationConstants.DB_REPLICA_LAG_CHECK_INTERVAL,
+                TimeUnit.MILLISECONDS);
+        try {
+            this.replica = (DataSource) new InitialContext().lookup(jndiName);
+        } catch (NamingException e) {
+            throw new HibernateException(
+                String.format("Could not find the replica data source %s.", jndiName), e);
+        }
+        LOGGER.info(String.format("Routing read-only transactions to the replica %s.", jndiName));
+    }
+
+    @Override public Connection getConnection() throws SQLException {
+        if (replica != null && ReplicaRouting.replicaRequested() && isReplicaUpToDate()) {
+            final long start = System.nanoTime();
+            try {
+                final Connection connection = replica.getConnection();
+                DatabaseMetrics.connectionAcquired(System.nanoTime() - start);
+                return connection;
+            } catch (SQLException e) {
+                LOGGER.warn("Could not connect to the replica, falling back to the primary.", e);
+                this.replicaUpToDate = false;
+            }
+        }
+        final long start = System.nanoTime();
+        final Connection connection = super.getConnection();
+        DatabaseMetrics.connectionAcquired(System.nanoTime() - start);
+        return connection;
+    }
+
+    private boolean isReplicaUpToDate() {
+        if (System.currentTimeMillis() - lagCheckedAt < lagCheckIntervalMillis) {
+            return replicaUpToDate;
+        }
+        synchronized (this) {
+            if (System.currentTimeMillis() - lagCheckedAt >= lagCheckIntervalMillis) {
+                final boolean upToDate = checkLag();
+                if (upToDate != replicaUpToDate) {
+                    LOGGER.info(upToDate ?
+                        "Replica caught up, routing read-only transactions to it." :
+                        "Routing read-only transactions to the primary.");
+                }
+                this.replicaUpToDate = upToDate;
+                this.lagCheckedAt = System.currentTimeMillis();
+            }
+            return replicaUpToDate;
+        }
+    }
+
+    /**
+     * @return true if the replication lag is within the limit. Servers not replicating
+     * from a primary (e.g. nodes of a synchronous cluster) are always up to date.
+     */
+    private boolean checkLag() {
+        try (Connection connection = replica.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery("SHOW SLAVE STATUS")) {
+            if (!resultSet.next()) {
+                return true;
+            }
+            final long lag = resultSet.getLong("Seconds_Behind_Master");
+            if (resultSet.wasNull()) {
+                LOGGER.warn("Replication of the replica is not running.");
+                return false;
+            }
+            if (lag > maxLagSeconds) {
+                LOGGER.warn(String
+                    .format("Replica is %s seconds behind, allowed are %s seconds.", lag,
+                        maxLagSeconds));
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            LOGGER.warn("Could not check the replication lag of the replica.", e);
+            return false;
+        }
+    }
+}
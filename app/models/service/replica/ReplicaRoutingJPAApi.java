@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.replica;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+
+import play.Configuration;
+import play.db.DBApi;
+import play.db.jpa.DefaultJPAApi;
+import play.db.jpa.JPA;
+import play.db.jpa.JPAApi;
+import play.db.jpa.JPAConfig;
+import play.inject.ApplicationLifecycle;
+import play.libs.F;
+import util.ConfigurationConstants;
+
+/**
+ * {@link JPAApi} routing read-only transactions to the read replica, see
+ * {@link ReplicaRouting}. It covers {@link play.db.jpa.Transactional} actions as well as
+ * transactions started directly.
+ * <p>
+ * Entities read from the replica may be slightly stale, so read-only transactions on the
+ * replica only read from the second level cache and never put into it.
+ */
+public class ReplicaRoutingJPAApi implements JPAApi {
+
+    private static final String DEFAULT = "default";
+
+    private final JPAApi delegate;
+    private final boolean replicaConfigured;
+
+    public ReplicaRoutingJPAApi(JPAApi delegate, boolean replicaConfigured) {
+        this.delegate = delegate;
+        this.replicaConfigured = replicaConfigured;
+    }
+
+    @Override public JPAApi start() {
+        delegate.start();
+        return this;
+    }
+
+    @Override public EntityManager em(String key) {
+        return delegate.em(key);
+    }
+
+    @Override public <T> T withTransaction(F.Function0<T> block) throws Throwable {
+        return withTransaction(DEFAULT, false, block);
+    }
+
+    @Override public <T> F.Promise<T> withTransactionAsync(F.Function0<F.Promise<T>> block)
+        throws Throwable {
+        return withTransactionAsync(DEFAULT, false, block);
+    }
+
+    @Override public void withTransaction(F.Callback0 block) {
+        try {
+            withTransaction(DEFAULT, false, () -> {
+                block.invoke();
+                return null;
+            });
+        } catch (Throwable t) {
+            throw new RuntimeException("JPA transaction failed", t);
+        }
+    }
+
+    @Override public <T> T withTransaction(String name, boolean readOnly, F.Function0<T> block)
+        throws Throwable {
+        return ReplicaRouting
+            .route(readOnly, () -> delegate.withTransaction(name, readOnly, onReplica(block)));
+    }
+
+    @Override public <T> F.Promise<T> withTransactionAsync(String name, boolean readOnly,
+        F.Function0<F.Promise<T>> block) throws Throwable {
+        return ReplicaRouting.route(readOnly,
+            () -> delegate.withTransactionAsync(name, readOnly, onReplica(block)));
+    }
+
+    @Override public void shutdown() {
+        delegate.shutdown();
+    }
+
+    private <T> F.Function0<T> onReplica(F.Function0<T> block) {
+        if (!replicaConfigured) {
+            return block;
+        }
+        return () -> {
+            if (ReplicaRouting.replicaRequested()) {
+                JPA.em().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+            return block.apply();
+        };
+    }
+
+    /**
+     * Provides the routing api around the default api of play.
+     */
+    @Singleton public static class Provider implements com.google.inject.Provider<JPAApi> {
+
+        private final JPAApi jpaApi;
+
+        /**
+         * The db api is injected to make sure the data sources are bound before the
+         * persistence unit is started.
+         */
+        @Inject public Provider(JPAConfig jpaConfig, DBApi dbApi, Configuration configuration,
+            ApplicationLifecycle lifecycle) {
+            this.jpaApi = new ReplicaRoutingJPAApi(new DefaultJPAApi(jpaConfig),
+                !configuration.getString(ConfigurationConstants.DB_REPLICA_JNDI_NAME, "")
+                    .isEmpty());
+            lifecycle.addStopHook(() -> {
+                jpaApi.shutdown();
+                return F.Promise.pure(null);
+            });
+            jpaApi.start();
+        }
+
+        @Override public JPAApi get() {
+            return jpaApi;
+        }
+    }
+}
@@ -37,7 +37,26 @@ public class ConfigurationConstants {
     public final static String DELETE_FAILED_INSTANCES = "colosseum.deleteFailedInstances";
     public final static String SYNC_VIRTUALMACHINE_IS_EMPTY =
         "colosseum.sync.virtualMachineIsEmpty.detector";
+    public final static String SYNC_SOLVER_BATCH_SIZE = "colosseum.sync.solver.batchSize";
+    public final static String SYNC_SOLVER_WORKERS = "colosseum.sync.solver.workers";
+    public final static String SYNC_RETRY_INITIAL_DELAY = "colosseum.sync.retry.initialDelay";
+    public final static String SYNC_RETRY_MAX_DELAY = "colosseum.sync.retry.maxDelay";
+    public final static String SYNC_RETRY_MAX_ATTEMPTS = "colosseum.sync.retry.maxAttempts";
+    public final static String SYNC_DEAD_LETTER_CAPACITY = "colosseum.sync.deadLetter.capacity";
+    public final static String SYNC_EVENTS_BUFFER = "colosseum.sync.events.buffer";
+    public final static String EXECUTION_SCHEDULE_JITTER = "colosseum.execution.schedule.jitter";
+    public final static String EXECUTION_SCHEDULE_BACKOFF = "colosseum.execution.schedule.backoff";
+    public final static String EXECUTION_SCHEDULE_MAX_FACTOR =
+        "colosseum.execution.schedule.maxFactor";
+    public final static String EXECUTION_SCHEDULE_PERIOD = "colosseum.execution.schedule.period";
+    public final static String DB_ID_ALLOCATION_SIZE = "colosseum.db.id.allocationSize";
+    public final static String DB_REPLICA_JNDI_NAME = "colosseum.db.replica.jndiName";
+    public final static String DB_REPLICA_MAX_LAG = "colosseum.db.replica.maxLag";
+    public final static String DB_REPLICA_LAG_CHECK_INTERVAL =
+        "colosseum.db.replica.lagCheckInterval";
+    public final static String DB_SLOW_QUERY_THRESHOLD = "colosseum.db.slowQueryThreshold";
     public final static String MODEL_VALIDATION = "colosseum.model.validation";
+    public final static String API_STREAM_THREADS = "colosseum.api.stream.threads";
 
     public final static String RMI_TIMEOUT = "colosseum.rmi.timeout";
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import cloud.sync.problems.AbstractProblem;
+import cloud.sync.problems.HardwareProblems;
+import cloud.sync.problems.ImageProblems;
+import cloud.sync.problems.InstanceProblems;
+import cloud.sync.problems.LocationProblems;
+import cloud.sync.problems.VirtualMachineProblems;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import models.Cloud;
+import models.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.benchmark.Fixtures;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the dispatch of a problem to its solution with 60 solutions registered.
+ * <p>
+ * The linear scan asks every registered solution, the solution of the problem being
+ * registered last. The type index resolves the solution by the problem class.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1)
+public class SolutionDatabaseBenchmark {
+
+    private static final int FILLER_SOLUTIONS = 53;
+
+    private SolutionDatabase linear;
+    private SolutionDatabase typeIndexed;
+    private Problem problem;
+
+    @Setup public void setUp() {
+        final List<Class<? extends Problem>> problemTypes = ImmutableList
+            .of(LocationProblems.LocationNotInDatabase.class,
+                HardwareProblems.HardwareNotInDatabase.class,
+                ImageProblems.ImageNotInDatabase.class,
+                VirtualMachineProblems.VirtualMachineNotInDatabase.class,
+                VirtualMachineProblems.VirtualMachineInErrorState.class,
+                InstanceProblems.InstanceInErrorState.class,
+                VirtualMachineProblems.VirtualMachineIsSpare.class);
+
+        final ImmutableSet.Builder<Solution> fillers = ImmutableSet.builder();
+        for (int i = 0; i < FILLER_SOLUTIONS; i++) {
+            fillers.add(new InstanceOfSolution(Unsolvable.class));
+        }
+
+        final ImmutableSet.Builder<Solution> all = ImmutableSet.builder();
+        final ImmutableMap.Builder<Class<? extends Problem>, Solution> byType =
+            ImmutableMap.builder();
+        all.addAll(fillers.build());
+        for (Class<? extends Problem> problemType : problemTypes) {
+            final Solution solution = new InstanceOfSolution(problemType);
+            all.add(solution);
+            byType.put(problemType, solution);
+        }
+
+        final Set<Solution> solutions = all.build();
+        linear = new DefaultSolutionDatabase(ImmutableMap.of(), solutions);
+        typeIndexed = new DefaultSolutionDatabase(byType.build(), fillers.build());
+
+        final Cloud cloud = Fixtures.cloud(1);
+        final Location location = Fixtures.location(cloud, 1);
+        problem = new VirtualMachineProblems.VirtualMachineIsSpare(
+            Fixtures.virtualMachine(cloud, location, 1));
+    }
+
+    @Benchmark public Solution linearScan() throws SolutionNotFoundException {
+        return linear.getSolution(problem);
+    }
+
+    @Benchmark public Solution typeIndexed() throws SolutionNotFoundException {
+        return typeIndexed.getSolution(problem);
+    }
+
+    private static class InstanceOfSolution implements Solution {
+
+        private final Class<? extends Problem> problemType;
+
+        private InstanceOfSolution(Class<? extends Problem> problemType) {
+            this.problemType = problemType;
+        }
+
+        @Override public boolean isSolutionFor(Problem problem) {
+            return problemType.isInstance(problem);
+        }
+
+        @Override public void applyTo(Problem problem) {
+        }
+    }
+
+    private static class Unsolvable extends AbstractProblem<Object> {
+
+        private Unsolvable(Object resource) {
+            super(resource);
+        }
+
+        @Override public int getPriority() {
+            return Priority.LOW;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the queues backing the problem queue while several threads
+ * are adding and taking concurrently.
+ * <p>
+ * Every operation adds a fresh entry before taking one, so take never blocks
+ * forever. The unique queue additionally reports the same entry twice, as watchdogs
+ * do for problems which are not yet solved.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) @Threads(4)
+public class QueueBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong(0);
+    private SimpleBlockingQueue<Entry> priorityQueue;
+    private SimpleBlockingQueue<Entry> uniqueQueue;
+
+    @Setup public void setUp() {
+        priorityQueue = new SimpleFifoPriorityBlockingQueue<>();
+        uniqueQueue = new UniqueBlockingQueue<>(new SimpleFifoPriorityBlockingQueue<>());
+    }
+
+    @Benchmark public Entry priorityAddTake() throws InterruptedException {
+        priorityQueue.add(new Entry(sequence.incrementAndGet()));
+        return priorityQueue.take();
+    }
+
+    @Benchmark public Entry uniqueAddTake() throws InterruptedException {
+        final Entry entry = new Entry(sequence.incrementAndGet());
+        uniqueQueue.add(entry);
+        uniqueQueue.add(entry);
+        return uniqueQueue.take();
+    }
+
+    public static class Entry implements Prioritized {
+
+        private final long key;
+
+        private Entry(long key) {
+            this.key = key;
+        }
+
+        @Override public int getPriority() {
+            return (int) (key % 3);
+        }
+
+        @Override public boolean equals(Object o) {
+            return this == o || (o instanceof Entry && ((Entry) o).key == key);
+        }
+
+        @Override public int hashCode() {
+            return Long.hashCode(key);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.model;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import models.Application;
+import util.benchmark.Fixtures;
+
+/**
+ * Benchmarks {@link ModelValidationServiceImpl} with the default application validators
+ * on large application graphs.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1)
+public class ModelValidationBenchmark {
+
+    @Param({"10", "100", "1000"}) public int components;
+
+    private ModelValidationService modelValidationService;
+    private Application application;
+
+    @Setup public void setUp() {
+        modelValidationService = new ModelValidationServiceImpl(ImmutableSet
+            .of(new NoCycleInMandatoryCommunicationValidator(),
+                new EveryPortRequiredFullfilledValidator(),
+                new AtLeastOnePublicPortProvidedWarning(), new PortClashValidator()),
+            Collections.emptySet());
+        application = Fixtures.application(components);
+    }
+
+    @Benchmark public Application validate() throws ModelValidationException {
+        modelValidationService.validate(application);
+        return application;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers.generic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import dtos.VirtualMachineDto;
+import dtos.api.Dto;
+import dtos.generic.LinkDecoratorDto;
+import models.VirtualMachine;
+import play.libs.Json;
+import util.benchmark.Fixtures;
+
+/**
+ * Benchmarks the JSON serialization step of {@link GenericApiController#list()} for
+ * large lists of link decorated DTOs.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "20000"}) public int size;
+
+    private List<Dto> dtos;
+
+    @Setup public void setUp() {
+        dtos = new ArrayList<>(size);
+        for (VirtualMachine virtualMachine : Fixtures.virtualMachines(size)) {
+            VirtualMachineDto dto = new VirtualMachineDto();
+            dto.setName(virtualMachine.name());
+            dto.setRemoteId(virtualMachine.remoteId().orElse(null));
+            dto.setCloud(virtualMachine.cloud().getId());
+            dto.setImage(virtualMachine.image().get().getId());
+            dto.setHardware(virtualMachine.hardware().get().getId());
+            dto.setLocation(virtualMachine.location().get().getId());
+            dtos.add(LinkDecoratorDto
+                .decorate(dto, "http://localhost:9000/api/vm/" + virtualMachine.getId()));
+        }
+    }
+
+    @Benchmark public JsonNode toJson() {
+        return Json.toJson(dtos);
+    }
+
+    @Benchmark public String toJsonString() {
+        return Json.stringify(Json.toJson(dtos));
+    }
+}
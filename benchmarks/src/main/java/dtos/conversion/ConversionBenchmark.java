@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package dtos.conversion;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.TypeLiteral;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import dtos.CloudDto;
+import dtos.HardwareDto;
+import dtos.VirtualMachineDto;
+import dtos.conversion.converters.CloudConverter;
+import dtos.conversion.converters.HardwareConverter;
+import dtos.conversion.converters.VirtualMachineConverter;
+import models.Api;
+import models.Cloud;
+import models.CloudCredential;
+import models.Hardware;
+import models.HardwareOffer;
+import models.Image;
+import models.Location;
+import models.TemplateOptions;
+import models.VirtualMachine;
+import models.service.ModelService;
+import util.benchmark.Fixtures;
+import util.benchmark.InMemoryModelService;
+
+/**
+ * Benchmarks {@link BaseModelDtoConversionService#toDto(models.generic.Model, Class)} and
+ * {@link BaseModelDtoConversionService#toModel(dtos.api.Dto, Class)} for the main entities.
+ * <p>
+ * The referenced entities are resolved by in memory model services, so the numbers
+ * show the cost of the conversion itself.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1) public class ConversionBenchmark {
+
+    private ModelDtoConversionService conversionService;
+
+    private Cloud cloud;
+    private Hardware hardware;
+    private VirtualMachine virtualMachine;
+
+    private CloudDto cloudDto;
+    private HardwareDto hardwareDto;
+    private VirtualMachineDto virtualMachineDto;
+
+    @Setup public void setUp() {
+
+        final ModelService<Api> apiModelService = new InMemoryModelService<>();
+        final ModelService<Cloud> cloudModelService = new InMemoryModelService<>();
+        final ModelService<Location> locationModelService = new InMemoryModelService<>();
+        final ModelService<Image> imageModelService = new InMemoryModelService<>();
+        final ModelService<Hardware> hardwareModelService = new InMemoryModelService<>();
+        final ModelService<HardwareOffer> hardwareOfferModelService =
+            new InMemoryModelService<>();
+
+        Injector injector = Guice.createInjector(new AbstractModule() {
+            @Override protected void configure() {
+                bind(new TypeLiteral<ModelService<Api>>() {
+                }).toInstance(apiModelService);
+                bind(new TypeLiteral<ModelService<Cloud>>() {
+                }).toInstance(cloudModelService);
+                bind(new TypeLiteral<ModelService<Location>>() {
+                }).toInstance(locationModelService);
+                bind(new TypeLiteral<ModelService<Image>>() {
+                }).toInstance(imageModelService);
+                bind(new TypeLiteral<ModelService<Hardware>>() {
+                }).toInstance(hardwareModelService);
+                bind(new TypeLiteral<ModelService<HardwareOffer>>() {
+                }).toInstance(hardwareOfferModelService);
+                bind(new TypeLiteral<ModelService<CloudCredential>>() {
+                }).toInstance(new InMemoryModelService<>());
+                bind(new TypeLiteral<ModelService<TemplateOptions>>() {
+                }).toInstance(new InMemoryModelService<>());
+            }
+        });
+
+        conversionService = new DefaultModelDtoConversionService(ImmutableSet
+            .of(injector.getInstance(CloudConverter.class),
+                injector.getInstance(HardwareConverter.class),
+                injector.getInstance(VirtualMachineConverter.class)));
+
+        virtualMachine = Fixtures.virtualMachines(1).get(0);
+        cloud = virtualMachine.cloud();
+        hardware = virtualMachine.hardware().get();
+
+        apiModelService.save(cloud.api());
+        cloudModelService.save(cloud);
+        locationModelService.save(virtualMachine.location().get());
+        imageModelService.save(virtualMachine.image().get());
+        hardwareModelService.save(hardware);
+        hardwareOfferModelService.save(hardware.hardwareOffer());
+
+        cloudDto = conversionService.toDto(cloud, CloudDto.class);
+        hardwareDto = conversionService.toDto(hardware, HardwareDto.class);
+        virtualMachineDto = conversionService.toDto(virtualMachine, VirtualMachineDto.class);
+    }
+
+    @Benchmark public CloudDto cloudToDto() {
+        return conversionService.toDto(cloud, CloudDto.class);
+    }
+
+    @Benchmark public Cloud cloudToModel() {
+        return conversionService.toModel(cloudDto, Cloud.class);
+    }
+
+    @Benchmark public HardwareDto hardwareToDto() {
+        return conversionService.toDto(hardware, HardwareDto.class);
+    }
+
+    @Benchmark public Hardware hardwareToModel() {
+        return conversionService.toModel(hardwareDto, Hardware.class);
+    }
+
+    @Benchmark public VirtualMachineDto virtualMachineToDto() {
+        return conversionService.toDto(virtualMachine, VirtualMachineDto.class);
+    }
+
+    @Benchmark public VirtualMachine virtualMachineToModel() {
+        return conversionService.toModel(virtualMachineDto, VirtualMachine.class);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package dtos.conversion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import models.VirtualMachine;
+import util.benchmark.Fixtures;
+
+/**
+ * Benchmarks the reflective getter and setter lookup used by every conversion binding.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1)
+public class ReflectionMethodsBenchmark {
+
+    private VirtualMachine virtualMachine;
+    private Getter<String> ownMethod;
+    private Getter<Object> inheritedMethod;
+    private Setter<String> setter;
+
+    @Setup public void setUp() {
+        virtualMachine = Fixtures.virtualMachines(1).get(0);
+        ownMethod = ReflectionMethods.getGetter("name", String.class);
+        // declared three levels up the hierarchy, walks the class tree
+        inheritedMethod = ReflectionMethods.getGetter("remoteId", Object.class);
+        setter = ReflectionMethods.getSetter("setGeneratedLoginUsername", String.class);
+    }
+
+    @Benchmark public String getOwnMethod() {
+        return ownMethod.getValue(virtualMachine);
+    }
+
+    @Benchmark public Object getInheritedMethod() {
+        return inheritedMethod.getValue(virtualMachine);
+    }
+
+    @Benchmark public VirtualMachine setMethod() {
+        setter.setValue(virtualMachine, null);
+        return virtualMachine;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.generic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the insert throughput of concurrent writers depending on the number of ids
+ * allocated per access of the id table.
+ * <p>
+ * An allocation size of 1 locks the id table row in its own transaction for every insert,
+ * like a table generator without blocks. Larger sizes correspond to the
+ * {@link PooledIdGenerator}. Like the generator, id allocation is synchronized.
+ * <p>
+ * Requires a MariaDB/MySQL database, configured by the system properties benchmark.db.url,
+ * benchmark.db.user and benchmark.db.password. The benchmark creates and drops its own
+ * tables.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3) @Measurement(iterations = 5) @Fork(1) @Threads(4)
+public class IdGenerationBenchmark {
+
+    private static final String ID_TABLE = "benchmark_id_pools";
+    private static final String ENTITY_TABLE = "benchmark_entities";
+
+    @Param({"1", "50", "500"}) private int allocationSize;
+
+    private long next;
+    private long limit;
+
+    private static Connection connect() throws SQLException {
+        final String url = System.getProperty("benchmark.db.url");
+        if (url == null) {
+            throw new IllegalStateException(
+                "The system property benchmark.db.url needs to point to a database.");
+        }
+        return DriverManager.getConnection(url, System.getProperty("benchmark.db.user"),
+            System.getProperty("benchmark.db.password"));
+    }
+
+    @Setup(Level.Trial) public void createTables() throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + ID_TABLE);
+            statement.execute("drop table if exists " + ENTITY_TABLE);
+            statement.execute("create table " + ID_TABLE
+                + " (pool_name varchar(255) not null primary key, next_val bigint)"
+                + " engine=InnoDB");
+            statement.execute("create table " + ENTITY_TABLE
+                + " (id bigint not null primary key, name varchar(255)) engine=InnoDB");
+            statement.execute("insert into " + ID_TABLE + " values ('entity', 1)");
+        }
+        next = 0;
+        limit = 0;
+    }
+
+    @TearDown(Level.Trial) public void dropTables() throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + ID_TABLE);
+            statement.execute("drop table if exists " + ENTITY_TABLE);
+        }
+    }
+
+    /**
+     * Takes the next id of the current block, allocating a new block from the id table
+     * in a separate transaction once it is exhausted.
+     */
+    private synchronized long nextId(Connection connection) throws SQLException {
+        if (next == limit) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement select = connection.prepareStatement(
+                "select next_val from " + ID_TABLE + " where pool_name = 'entity' for update");
+                 PreparedStatement update = connection.prepareStatement(
+                     "update " + ID_TABLE + " set next_val = ? where pool_name = 'entity'")) {
+                final long value;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                    value = resultSet.getLong(1);
+                }
+                update.setLong(1, value + allocationSize);
+                update.executeUpdate();
+                connection.commit();
+                next = value;
+                limit = value + allocationSize;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        return next++;
+    }
+
+    @Benchmark public int insert(Writer writer) throws SQLException {
+        writer.insert.setLong(1, nextId(writer.connection));
+        writer.insert.setString(2, "entity");
+        return writer.insert.executeUpdate();
+    }
+
+    /**
+     * A connection per benchmark thread.
+     */
+    @State(Scope.Thread) public static class Writer {
+
+        private Connection connection;
+        private PreparedStatement insert;
+
+        @Setup(Level.Trial) public void connect() throws SQLException {
+            connection = IdGenerationBenchmark.connect();
+            insert = connection
+                .prepareStatement("insert into " + ENTITY_TABLE + " (id, name) values (?, ?)");
+        }
+
+        @TearDown(Level.Trial) public void close() throws SQLException {
+            insert.close();
+            connection.close();
+        }
+    }
+}
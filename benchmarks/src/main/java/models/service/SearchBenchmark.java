@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.github.drapostolos.typeparser.TypeParser;
+import de.uniulm.omi.cloudiator.common.FieldFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import models.VirtualMachine;
+import models.generic.Model;
+
+/**
+ * Benchmarks the preparation of a search, the part of the search latency spent before the
+ * query reaches the database.
+ * <p>
+ * The reflective variant looks up the field and builds a new type parser for every
+ * criterion, like the single attribute search did before. The compiled variant uses the
+ * {@link SearchCompiler} with its cached field metadata and query templates.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5) @Measurement(iterations = 10) @Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1", "4"}) private int criteria;
+
+    private Search search;
+    private SearchCompiler<VirtualMachine> compiler;
+
+    @Setup public void setUp() {
+        final Search.Builder builder = Search.newBuilder();
+        builder.where("remoteState", Search.Operator.EQ, "OK");
+        if (criteria > 1) {
+            builder.where("cloud", Search.Operator.EQ, "12")
+                .where("providerId", Search.Operator.PREFIX, "eu-")
+                .where("id", Search.Operator.GTE, "1000").orderBy("providerId", true);
+        }
+        search = builder.build();
+        compiler = SearchCompiler.of(VirtualMachine.class);
+    }
+
+    @Benchmark public void reflective(Blackhole blackhole) {
+        for (Search.Criterion criterion : search.criteria()) {
+            final Field field =
+                FieldFinder.of(VirtualMachine.class).getField(criterion.attribute()).get();
+            final TypeParser typeParser = TypeParser.newBuilder().build();
+            // references are compared by id
+            final Class<?> valueType =
+                Model.class.isAssignableFrom(field.getType()) ? Long.class : field.getType();
+            blackhole.consume(typeParser.parseType(criterion.value(), valueType));
+        }
+    }
+
+    @Benchmark public SearchCompiler.CompiledSearch compiled() throws IllegalColumnException {
+        return compiler.compile(search);
+    }
+}
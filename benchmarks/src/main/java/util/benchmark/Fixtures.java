@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package util.benchmark;
+
+import de.uniulm.omi.cloudiator.common.FieldFinder;
+import de.uniulm.omi.cloudiator.common.os.OperatingSystemArchitecture;
+import de.uniulm.omi.cloudiator.common.os.OperatingSystemFamily;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Api;
+import models.Application;
+import models.ApplicationComponent;
+import models.Cloud;
+import models.Communication;
+import models.Hardware;
+import models.HardwareOffer;
+import models.Image;
+import models.LifecycleComponent;
+import models.Location;
+import models.OperatingSystem;
+import models.Port;
+import models.PortProvided;
+import models.PortRequired;
+import models.VirtualMachine;
+import models.VirtualMachineTemplate;
+
+/**
+ * Builds the entity graphs used by the benchmarks.
+ * <p>
+ * Relations which are normally populated by hibernate (mappedBy side) are set using
+ * reflection.
+ */
+public class Fixtures {
+
+    private Fixtures() {
+        throw new AssertionError("Do not instantiate.");
+    }
+
+    private static Field field(Object target, String fieldName) {
+        final Field field = FieldFinder.of(target.getClass()).getField(fieldName).orElseThrow(
+            () -> new IllegalArgumentException(String
+                .format("Type %s does not hold field %s", target.getClass(), fieldName)));
+        field.setAccessible(true);
+        return field;
+    }
+
+    public static void set(Object target, String fieldName, Object value) {
+        try {
+            field(target, fieldName).set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Object get(Object target, String fieldName) {
+        try {
+            return field(target, fieldName).get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Cloud cloud(long id) {
+        Api api = new Api("api", "openstack-nova");
+        api.setId(id);
+        Cloud cloud = new Cloud("cloud-" + id, "http://localhost:5000/v2.0", api);
+        cloud.setId(id);
+        return cloud;
+    }
+
+    public static Location location(Cloud cloud, long id) {
+        Location location =
+            new Location("region/" + id, "" + id, "region/" + id, cloud, "location-" + id, null,
+                null, null, true);
+        location.setId(id);
+        return location;
+    }
+
+    public static Hardware hardware(Cloud cloud, Location location, long id) {
+        HardwareOffer hardwareOffer = new HardwareOffer(2, 4096L, 40f);
+        hardwareOffer.setId(id);
+        Hardware hardware =
+            new Hardware("region/hw-" + id, "hw-" + id, "region/hw-" + id, cloud, location,
+                "hardware-" + id, hardwareOffer);
+        hardware.setId(id);
+        return hardware;
+    }
+
+    public static Image image(Cloud cloud, Location location, long id) {
+        OperatingSystem operatingSystem =
+            new OperatingSystem(OperatingSystemArchitecture.AMD64, OperatingSystemFamily.UBUNTU,
+                "14.04");
+        operatingSystem.setId(id);
+        Image image =
+            new Image("region/img-" + id, "img-" + id, "region/img-" + id, cloud, location,
+                "image-" + id, operatingSystem, null, null);
+        image.setId(id);
+        return image;
+    }
+
+    public static VirtualMachine virtualMachine(Cloud cloud, Location location, long id) {
+        VirtualMachine virtualMachine =
+            new VirtualMachine("region/vm-" + id, "vm-" + id, "region/vm-" + id, cloud, null,
+                location, "vm-" + id, null, null, null, image(cloud, location, id),
+                hardware(cloud, location, id), null);
+        virtualMachine.setId(id);
+        return virtualMachine;
+    }
+
+    public static List<VirtualMachine> virtualMachines(int size) {
+        Cloud cloud = cloud(1);
+        Location location = location(cloud, 1);
+        List<VirtualMachine> virtualMachines = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            virtualMachines.add(virtualMachine(cloud, location, i));
+        }
+        return virtualMachines;
+    }
+
+    /**
+     * Creates an application with the given number of components. Each component
+     * provides one port and requires the port of its predecessor, forming a chain of
+     * mandatory communications.
+     *
+     * @param components the number of application components.
+     * @return the application.
+     */
+    public static Application application(int components) {
+        Cloud cloud = cloud(1);
+        Location location = location(cloud, 1);
+        VirtualMachineTemplate virtualMachineTemplate =
+            new VirtualMachineTemplate(cloud, image(cloud, location, 1), location,
+                hardware(cloud, location, 1), null);
+
+        Application application = new Application("application");
+        List<ApplicationComponent> applicationComponents = new ArrayList<>(components);
+        PortProvided previous = null;
+        for (int i = 0; i < components; i++) {
+            LifecycleComponent component =
+                new LifecycleComponent(null, null, null, null, null, "start", null, null, null,
+                    null, null, null, null);
+            component.setName("component-" + i);
+            ApplicationComponent applicationComponent =
+                new ApplicationComponent(application, component, virtualMachineTemplate, null);
+
+            List<Port> ports = new ArrayList<>(2);
+            PortProvided portProvided =
+                new PortProvided("provided-" + i, applicationComponent, 10000 + i);
+            set(portProvided, "providedCommunications", new ArrayList<Communication>());
+            ports.add(portProvided);
+            if (previous != null) {
+                PortRequired portRequired =
+                    new PortRequired("required-" + i, applicationComponent, null, true);
+                Communication communication = new Communication(portRequired, previous);
+                set(portRequired, "requiredCommunication", communication);
+                set(portRequired, "isMandatory", true);
+                //noinspection unchecked
+                ((List<Communication>) get(previous, "providedCommunications"))
+                    .add(communication);
+                ports.add(portRequired);
+            }
+            set(applicationComponent, "ports", ports);
+            set(applicationComponent, "instances", new ArrayList<>());
+            applicationComponents.add(applicationComponent);
+            previous = portProvided;
+        }
+        application.setApplicationComponents(applicationComponents);
+        return application;
+    }
+}
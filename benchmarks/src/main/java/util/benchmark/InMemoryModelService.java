@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package util.benchmark;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+import models.Tenant;
+import models.generic.Model;
+import models.service.AttributeQuery;
+import models.service.ModelService;
+import models.service.Search;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ModelService} keeping its entities in memory.
+ * <p>
+ * Used by the benchmarks to replace the database backed services, so that
+ * only the code under test is measured.
+ *
+ * @param <T> the type of the model.
+ */
+public class InMemoryModelService<T extends Model> implements ModelService<T> {
+
+    private final AtomicLong sequence = new AtomicLong(0);
+    private final Map<Long, T> entities = new ConcurrentHashMap<>();
+
+    @Nullable @Override public T getById(Long id) {
+        checkNotNull(id);
+        return entities.get(id);
+    }
+
+    @Override public List<T> getByIds(Collection<Long> ids) {
+        checkNotNull(ids);
+        return ids.stream().filter(id -> id != null).distinct().map(entities::get)
+            .filter(t -> t != null)
+            .collect(Collectors.toList());
+    }
+
+    @Override public List<T> getByAttributeValue(String attribute, String value) {
+        throw new UnsupportedOperationException("Search is not supported in memory.");
+    }
+
+    @Override public List<T> getBySearch(Search search) {
+        throw new UnsupportedOperationException("Search is not supported in memory.");
+    }
+
+    @Override public List<T> getAll() {
+        return ImmutableList.copyOf(entities.values());
+    }
+
+    @Override public List<T> getPage(@Nullable Long after, int limit) {
+        return entities.values().stream().filter(t -> after == null || t.getId() > after)
+            .sorted(Comparator.comparing(Model::getId)).limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    @Override public List<T> getAllOfTenants(Collection<Tenant> tenants) {
+        throw new UnsupportedOperationException("Tenant queries are not supported in memory.");
+    }
+
+    @Override
+    public List<T> getPageOfTenants(Collection<Tenant> tenants, @Nullable Long after, int limit) {
+        throw new UnsupportedOperationException("Tenant queries are not supported in memory.");
+    }
+
+    @Override public void forEach(Consumer<? super T> consumer) {
+        entities.values().stream().sorted(Comparator.comparing(Model::getId))
+            .forEachOrdered(consumer);
+    }
+
+    @Override
+    public void forEachOfTenants(Collection<Tenant> tenants, Consumer<? super T> consumer) {
+        throw new UnsupportedOperationException("Tenant queries are not supported in memory.");
+    }
+
+    @Override public Optional<AttributeQuery> selectAttributes(List<String> attributes) {
+        return Optional.empty();
+    }
+
+    @Override public void save(T t) {
+        checkNotNull(t);
+        if (t.getId() == null) {
+            t.setId(sequence.incrementAndGet());
+        }
+        entities.put(t.getId(), t);
+    }
+
+    @Override public void saveDeferred(T t) {
+        save(t);
+    }
+
+    @Override public void saveAll(Collection<T> ts) {
+        checkNotNull(ts);
+        ts.forEach(this::save);
+    }
+
+    @Override public void delete(T t) {
+        checkNotNull(t);
+        entities.remove(t.getId());
+    }
+
+    @Nullable @Override public T getByUuid(String uuid) {
+        checkNotNull(uuid);
+        return entities.values().stream().filter(t -> t.getUuid().equals(uuid)).findAny()
+            .orElse(null);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import org.junit.Test;
+import play.Configuration;
+import util.ConfigurationConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProblemQueueImplTest {
+
+    private final ProblemRetries retries = ProblemRetriesTest.retries(60000, 60000, 2, 10);
+    private final ProblemQueueImpl queue = new ProblemQueueImpl(new Configuration(
+        ConfigFactory.parseMap(ImmutableMap.of(ConfigurationConstants.SYNC_SOLVER_WORKERS, 1))),
+        retries);
+
+    private List<Problem> queued() {
+        final List<Problem> queued = new ArrayList<>();
+        queue.partition(0).drainTo(queued, Integer.MAX_VALUE);
+        return queued;
+    }
+
+    @Test public void addsAProblemWithoutFailures() {
+        final Problem problem = new ProblemRetriesTest.TestProblem("a");
+        queue.add(problem);
+
+        final List<Problem> queued = queued();
+        assertEquals(1, queued.size());
+        assertSame(problem, queued.get(0));
+    }
+
+    @Test public void dropsAProblemWaitingForItsRetry() {
+        final Problem problem = new ProblemRetriesTest.TestProblem("a");
+        retries.failed(problem, new Exception());
+
+        queue.add(problem);
+        assertTrue(queued().isEmpty());
+    }
+
+    @Test public void dropsADeadProblem() {
+        final Problem problem = new ProblemRetriesTest.TestProblem("a");
+        retries.failed(problem, new Exception());
+        retries.failed(problem, new Exception());
+        assertEquals(1, retries.deadLetters().size());
+
+        queue.add(problem);
+        assertTrue(queued().isEmpty());
+    }
+
+    @Test public void addsAProblemAgainOnceSolved() {
+        final Problem problem = new ProblemRetriesTest.TestProblem("a");
+        retries.failed(problem, new Exception());
+        retries.solved(problem);
+
+        queue.add(problem);
+        assertEquals(1, queued().size());
+    }
+
+    @Test public void retryBypassesTheSuppression() {
+        final Problem problem = new ProblemRetriesTest.TestProblem("a");
+        retries.failed(problem, new Exception());
+
+        queue.retry(problem);
+        assertEquals(1, queued().size());
+    }
+}
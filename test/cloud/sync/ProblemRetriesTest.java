@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import org.junit.Test;
+import play.Configuration;
+import util.ConfigurationConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProblemRetriesTest {
+
+    static ProblemRetries retries(long initialDelay, long maxDelay, int maxAttempts,
+        int deadLetterCapacity) {
+        return new ProblemRetries(new Configuration(ConfigFactory.parseMap(ImmutableMap
+            .of(ConfigurationConstants.SYNC_RETRY_INITIAL_DELAY, initialDelay,
+                ConfigurationConstants.SYNC_RETRY_MAX_DELAY, maxDelay,
+                ConfigurationConstants.SYNC_RETRY_MAX_ATTEMPTS, maxAttempts,
+                ConfigurationConstants.SYNC_DEAD_LETTER_CAPACITY, deadLetterCapacity))));
+    }
+
+    @Test public void delayDoublesUntilTheMaximum() {
+        final ProblemRetries retries = retries(1000, 5000, 8, 10);
+        assertEquals(1000, retries.delay(1));
+        assertEquals(2000, retries.delay(2));
+        assertEquals(4000, retries.delay(3));
+        assertEquals(5000, retries.delay(4));
+        assertEquals(5000, retries.delay(8));
+    }
+
+    @Test public void delayDoesNotOverflow() {
+        final ProblemRetries retries = retries(1000, Long.MAX_VALUE, 100, 10);
+        assertEquals(1000L << 30, retries.delay(31));
+        assertEquals(1000L << 30, retries.delay(100));
+    }
+
+    @Test public void retriesUntilTheMaximumNumberOfAttempts() {
+        final ProblemRetries retries = retries(60000, 60000, 3, 10);
+        final Problem problem = new TestProblem("a");
+
+        retries.failed(problem, new Exception("first"));
+        retries.failed(problem, new Exception("second"));
+        assertEquals(1, retries.pending());
+        assertTrue(retries.deadLetters().isEmpty());
+        assertTrue(retries.isSuppressed(problem));
+
+        retries.failed(problem, new Exception("third"));
+        assertEquals(0, retries.pending());
+        assertEquals(1, retries.deadLettered());
+        assertEquals(1, retries.deadLetters().size());
+        final DeadLetter deadLetter = retries.deadLetters().get(0);
+        assertSame(problem, deadLetter.problem());
+        assertEquals(3, deadLetter.attempts());
+        assertEquals("third", deadLetter.lastError());
+        assertTrue(retries.isSuppressed(problem));
+    }
+
+    @Test public void givesUpAfterTheFirstFailureIfOnlyOneAttemptIsAllowed() {
+        final ProblemRetries retries = retries(60000, 60000, 1, 10);
+        final Problem problem = new TestProblem("a");
+
+        retries.failed(problem, new Exception());
+        assertEquals(0, retries.pending());
+        assertEquals(1, retries.deadLetters().size());
+    }
+
+    @Test public void solvedForgetsTheAttempts() {
+        final ProblemRetries retries = retries(60000, 60000, 3, 10);
+        final Problem problem = new TestProblem("a");
+
+        retries.failed(problem, new Exception());
+        retries.solved(problem);
+        assertEquals(0, retries.pending());
+        assertFalse(retries.isSuppressed(problem));
+    }
+
+    @Test public void dropsTheOldestDeadLetterWhenFull() {
+        final ProblemRetries retries = retries(60000, 60000, 1, 2);
+        final Problem first = new TestProblem("first");
+        final Problem second = new TestProblem("second");
+        final Problem third = new TestProblem("third");
+
+        retries.failed(first, new Exception());
+        retries.failed(second, new Exception());
+        retries.failed(third, new Exception());
+
+        final List<DeadLetter> deadLetters = retries.deadLetters();
+        assertEquals(2, deadLetters.size());
+        assertSame(second, deadLetters.get(0).problem());
+        assertSame(third, deadLetters.get(1).problem());
+        assertFalse(retries.isSuppressed(first));
+        assertEquals(3, retries.deadLettered());
+    }
+
+    @Test public void replayRetriesImmediatelyAndStartsOverWithTheAttempts() {
+        final ProblemRetries retries = retries(60000, 60000, 2, 10);
+        final Problem problem = new TestProblem("a");
+        retries.failed(problem, new Exception());
+        retries.failed(problem, new Exception());
+        final long id = retries.deadLetters().get(0).id();
+
+        assertFalse(retries.replay(id + 1).isPresent());
+        final Optional<DeadLetter> replayed = retries.replay(id);
+        assertTrue(replayed.isPresent());
+        assertSame(problem, replayed.get().problem());
+        assertTrue(retries.deadLetters().isEmpty());
+        assertTrue(retries.isSuppressed(problem));
+
+        final List<Problem> due = new ArrayList<>();
+        assertEquals(1, retries.drainDue(due));
+        assertSame(problem, due.get(0));
+        assertEquals(1, retries.retried());
+
+        //a replayed problem gets all attempts again
+        retries.failed(problem, new Exception());
+        assertEquals(1, retries.pending());
+        assertTrue(retries.deadLetters().isEmpty());
+        retries.failed(problem, new Exception());
+        assertEquals(1, retries.deadLetters().size());
+    }
+
+    @Test public void replayAllEmptiesTheDeadLetters() {
+        final ProblemRetries retries = retries(60000, 60000, 1, 10);
+        retries.failed(new TestProblem("a"), new Exception());
+        retries.failed(new TestProblem("b"), new Exception());
+
+        assertEquals(2, retries.replayAll().size());
+        assertTrue(retries.deadLetters().isEmpty());
+        assertEquals(2, retries.drainDue(new ArrayList<>()));
+    }
+
+    @Test public void aRetryIsNotDueBeforeItsDelay() {
+        final ProblemRetries retries = retries(60000, 60000, 3, 10);
+        retries.failed(new TestProblem("a"), new Exception());
+
+        assertEquals(0, retries.drainDue(new ArrayList<>()));
+        assertEquals(1, retries.pending());
+    }
+
+    static class TestProblem implements Problem<String> {
+
+        private final String key;
+
+        TestProblem(String key) {
+            this.key = key;
+        }
+
+        @Override public String getResource() {
+            return key;
+        }
+
+        @Override public String key() {
+            return key;
+        }
+
+        @Override public long detectedAt() {
+            return 0;
+        }
+
+        @Override public int getPriority() {
+            return Priority.MEDIUM;
+        }
+
+        @Override public String toString() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import models.generic.Model;
+import org.junit.Test;
+import play.Configuration;
+import util.ConfigurationConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SyncEventBusTest {
+
+    private static SyncEventBus bus(int bufferSize) {
+        return new SyncEventBus(new Configuration(ConfigFactory
+            .parseMap(ImmutableMap.of(ConfigurationConstants.SYNC_EVENTS_BUFFER, bufferSize))));
+    }
+
+    private static void publish(SyncEventBus bus, int count) {
+        for (int i = 0; i < count; i++) {
+            bus.publish(SyncEvent.Type.UPDATED, new TestModel());
+        }
+    }
+
+    @Test public void negativeSinceOnlyReceivesFutureEvents() {
+        final SyncEventBus bus = bus(10);
+        publish(bus, 2);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch(), -1, listener);
+        assertTrue(listener.sequences.isEmpty());
+        assertFalse(listener.missed);
+
+        publish(bus, 1);
+        assertEquals(sequences(3), listener.sequences);
+    }
+
+    @Test public void foreignEpochMissesEvents() {
+        final SyncEventBus bus = bus(10);
+        publish(bus, 2);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch() - 1, 1, listener);
+        assertTrue(listener.missed);
+        assertTrue(listener.sequences.isEmpty());
+    }
+
+    @Test public void sinceAheadOfTheBusMissesEvents() {
+        final SyncEventBus bus = bus(10);
+        publish(bus, 2);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch(), 3, listener);
+        assertTrue(listener.missed);
+        assertTrue(listener.sequences.isEmpty());
+    }
+
+    @Test public void sinceEqualToTheSequenceReplaysNothing() {
+        final SyncEventBus bus = bus(10);
+        publish(bus, 2);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch(), 2, listener);
+        assertFalse(listener.missed);
+        assertTrue(listener.sequences.isEmpty());
+
+        publish(bus, 1);
+        assertEquals(sequences(3), listener.sequences);
+    }
+
+    @Test public void sinceZeroOnAnEmptyBusReplaysNothing() {
+        final SyncEventBus bus = bus(10);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch(), 0, listener);
+        assertFalse(listener.missed);
+        assertTrue(listener.sequences.isEmpty());
+    }
+
+    @Test public void replaysTheEventsAfterSinceInOrder() {
+        final SyncEventBus bus = bus(10);
+        publish(bus, 3);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch(), 1, listener);
+        assertFalse(listener.missed);
+        assertEquals(sequences(2, 3), listener.sequences);
+
+        publish(bus, 1);
+        assertEquals(sequences(2, 3, 4), listener.sequences);
+    }
+
+    @Test public void replaysAfterTheBufferJustWrapped() {
+        final SyncEventBus bus = bus(3);
+        publish(bus, 4);
+        final RecordingListener listener = new RecordingListener();
+
+        //the buffer holds 2 to 4, nothing after 1 was dropped
+        bus.subscribe(bus.epoch(), 1, listener);
+        assertFalse(listener.missed);
+        assertEquals(sequences(2, 3, 4), listener.sequences);
+    }
+
+    @Test public void aGapInTheBufferMissesEvents() {
+        final SyncEventBus bus = bus(3);
+        publish(bus, 4);
+        final RecordingListener listener = new RecordingListener();
+
+        //the buffer holds 2 to 4, event 1 was dropped
+        bus.subscribe(bus.epoch(), 0, listener);
+        assertTrue(listener.missed);
+        assertTrue(listener.sequences.isEmpty());
+
+        publish(bus, 1);
+        assertEquals(sequences(5), listener.sequences);
+    }
+
+    @Test public void cancelledSubscriptionReceivesNoEvents() {
+        final SyncEventBus bus = bus(10);
+        final RecordingListener listener = new RecordingListener();
+
+        bus.subscribe(bus.epoch(), -1, listener).cancel();
+        publish(bus, 1);
+        assertTrue(listener.sequences.isEmpty());
+    }
+
+    @Test public void stagedEventsAreOnlyDeliveredOnCommit() {
+        final SyncEventBus bus = bus(10);
+        final RecordingListener listener = new RecordingListener();
+        bus.subscribe(bus.epoch(), -1, listener);
+
+        bus.begin();
+        publish(bus, 2);
+        bus.rollback();
+        assertTrue(listener.sequences.isEmpty());
+
+        bus.begin();
+        publish(bus, 2);
+        assertTrue(listener.sequences.isEmpty());
+        bus.commit();
+        assertEquals(sequences(1, 2), listener.sequences);
+    }
+
+    private static List<Long> sequences(long... sequences) {
+        final List<Long> list = new ArrayList<>(sequences.length);
+        for (long sequence : sequences) {
+            list.add(sequence);
+        }
+        return list;
+    }
+
+    private static class RecordingListener implements SyncEventBus.Listener {
+
+        private final List<Long> sequences = new ArrayList<>();
+        private boolean missed;
+
+        @Override public void accept(SyncEvent event) {
+            sequences.add(event.sequence());
+        }
+
+        @Override public void onMissedEvents() {
+            missed = true;
+        }
+    }
+
+    private static class TestModel extends Model {
+    }
+}
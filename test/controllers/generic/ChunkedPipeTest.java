@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers.generic;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChunkedPipeTest {
+
+    @Test public void readsWhatWasWritten() throws IOException {
+        final ChunkedPipe pipe = new ChunkedPipe(4, 8);
+        pipe.output().write(new byte[] {1, 2, 3, 4, 5, 6});
+        pipe.output().write(7);
+        pipe.output().close();
+
+        final byte[] read = new byte[7];
+        int total = 0;
+        int count;
+        while ((count = pipe.input().read(read, total, read.length - total)) > 0) {
+            total += count;
+        }
+        assertEquals(7, total);
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7}, read);
+        assertEquals(-1, pipe.input().read());
+    }
+
+    @Test public void blocksTheWriterWhileTheBufferIsFull() throws Exception {
+        final ChunkedPipe pipe = new ChunkedPipe(1, 2);
+        final OutputStream output = pipe.output();
+        output.write(1);
+        output.write(2);
+        final CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> write(output, 3));
+        try {
+            blocked.get(200, TimeUnit.MILLISECONDS);
+            fail("The write into a full pipe did not block.");
+        } catch (TimeoutException e) {
+            //expected
+        }
+
+        final InputStream input = pipe.input();
+        assertEquals(1, input.read());
+        blocked.get(1, TimeUnit.SECONDS);
+        assertEquals(2, input.read());
+        assertEquals(3, input.read());
+    }
+
+    @Test public void closingTheInputFailsTheBlockedWriter() throws Exception {
+        final ChunkedPipe pipe = new ChunkedPipe(1, 1);
+        final OutputStream output = pipe.output();
+        output.write(1);
+        final CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> write(output, 2));
+
+        pipe.input().close();
+        try {
+            blocked.get(2, TimeUnit.SECONDS);
+            fail("The write into a closed pipe succeeded.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().getCause() instanceof ChunkedPipe.ClosedException);
+        }
+        assertTrue(pipe.isClosed());
+        try {
+            output.write(3);
+            fail("The write into a closed pipe succeeded.");
+        } catch (ChunkedPipe.ClosedException e) {
+            //expected
+        }
+        //ending the stream of a closed pipe is a no-op
+        output.close();
+    }
+
+    @Test public void isNotClosedByTheWriter() throws IOException {
+        final ChunkedPipe pipe = new ChunkedPipe(1, 1);
+        pipe.output().close();
+        assertFalse(pipe.isClosed());
+        assertEquals(-1, pipe.input().read());
+    }
+
+    private static void write(OutputStream output, int b) {
+        try {
+            output.write(b);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
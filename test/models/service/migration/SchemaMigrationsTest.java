@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service.migration;
+
+import org.hibernate.Session;
+import org.junit.Test;
+
+import java.util.Map;
+
+import play.Application;
+import play.db.jpa.JPA;
+import play.db.jpa.JPAApi;
+
+import static org.junit.Assert.assertTrue;
+import static play.test.Helpers.fakeApplication;
+import static play.test.Helpers.running;
+
+/**
+ * Runs the {@link SchemaMigrations} against the test database and checks that every hot
+ * query can use an index.
+ */
+public class SchemaMigrationsTest {
+
+    @Test public void hotQueriesCanUseAnIndex() {
+        final Application application = fakeApplication();
+        running(application, () -> application.injector().instanceOf(JPAApi.class)
+            .withTransaction(() -> JPA.em().unwrap(Session.class).doWork(connection -> {
+                SchemaMigrator.migrate(connection, SchemaMigrations.MIGRATIONS);
+                for (Map.Entry<String, String> query : SchemaMigrations.HOT_QUERIES
+                    .entrySet()) {
+                    assertTrue(String
+                            .format("Query for %s can not use an index: %s", query.getKey(),
+                                query.getValue()),
+                        SchemaMigrator.canUseIndex(connection, query.getValue()));
+                }
+            })));
+    }
+}